@@ -5,6 +5,58 @@
 // gerçek bir projenin yapısını taklit etmez. Normalde her sınıf kendi dosyasında olur.
 // Lombok gibi dış kütüphaneler için gerekli import'lar ve bağımlılıklar (pom.xml) varsayılmıştır.
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.*;
+
 // --------------------------------------------------------------------------------------
 // S - Single Responsibility Principle (Tek Sorumluluk Prensibi)
 // Bir sınıfın değişmek için tek bir nedeni olmalı.
@@ -28,10 +80,21 @@ class UserRepository { // Sadece kullanıcı verilerini yönetir
         System.out.println("UserRepository: Kullanıcı oluşturuldu: " + username);
         // Kullanıcı veritabanına kaydetme mantığı
     }
+    // Çok satırlı ekleme: INSERT INTO users (username) VALUES (?), (?), ... -> tek transaction, tek gidiş-dönüş.
+    // (JDBC'de addBatch/executeBatch; PostgreSQL sürücüsünde reWriteBatchedInserts=true bunu tek INSERT'e çevirir.)
+    public void createUsers(List<String> usernames) {
+        System.out.println("UserRepository: " + usernames.size() + " kullanıcı toplu oluşturuldu.");
+    }
     public User getUser(String username) { // Basit bir User objesi döndürüyor
         System.out.println("UserRepository: Kullanıcı alındı: " + username);
         return new User(username); // Varsayımsal bir User sınıfı
     }
+    // Toplu işlemler için parça parça okuma (keyset sayfalama). OFFSET yerine son görülen anahtardan devam
+    // edilir; bu sayede milyonuncu satırdaki sorgu da ilk sayfa kadar hızlıdır.
+    public List<User> findUsersAfter(String lastUsername, int limit) {
+        // SELECT username FROM users WHERE (? IS NULL OR username > ?) ORDER BY username LIMIT ?
+        return List.of();
+    }
 }
 
 class UserReportGenerator { // Sadece kullanıcı raporu oluşturur
@@ -39,6 +102,37 @@ class UserReportGenerator { // Sadece kullanıcı raporu oluşturur
         System.out.println("UserReportGenerator: " + user.getName() + " için rapor oluşturuldu.");
         // Rapor oluşturma ve biçimlendirme mantığı
     }
+    // Toplu rapor için satır biçimlendirme: Ortak StringBuilder'a eklenir, satır başına String oluşturulmaz.
+    public void appendCsvRow(User user, StringBuilder out) {
+        String name = user.getName();
+        // RFC 4180: Virgül, tırnak veya satır sonu (\n ya da \r) içeren alan tırnak içine alınır.
+        if (name.indexOf(',') >= 0 || name.indexOf('"') >= 0 || name.indexOf('\n') >= 0 || name.indexOf('\r') >= 0) {
+            out.append('"').append(name.replace("\"", "\"\"")).append('"'); // CSV kaçışı
+        } else {
+            out.append(name);
+        }
+        out.append('\n');
+    }
+    public void appendJsonRow(User user, StringBuilder out) {
+        out.append("{\"username\":\"");
+        String name = user.getName();
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                default -> {
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        out.append("\"}");
+    }
 }
 
 // Varsayımsal User sınıfı (Lombok ile daha kısa yazılabilir)
@@ -70,6 +164,12 @@ class BadDrawing {
 // İyi Tasarım: Genişlemeye açık (yeni şekiller eklenebilir), değişime kapalı (Drawing sınıfı değişmez).
 interface Shape {
     void draw(); // Tüm şekillerin 'draw' metodu olmalı
+
+    // Toplu çizim için: Çıktıyı doğrudan konsola değil verilen tampona yazar. Mevcut şekiller değişmeden
+    // çalışsın diye varsayılan bir implementasyonu vardır (OCP).
+    default void render(StringBuilder out) {
+        out.append(getClass().getSimpleName()).append(" çizildi.\n");
+    }
 }
 
 class Circle implements Shape {
@@ -77,6 +177,10 @@ class Circle implements Shape {
     public void draw() {
         System.out.println("Circle çizildi.");
     }
+    @Override
+    public void render(StringBuilder out) {
+        out.append("Circle çizildi.\n");
+    }
 }
 
 class Square implements Shape {
@@ -84,12 +188,102 @@ class Square implements Shape {
     public void draw() {
         System.out.println("Square çizildi.");
     }
+    @Override
+    public void render(StringBuilder out) {
+        out.append("Square çizildi.\n");
+    }
 }
 
+// Belirli bir şekil tipinin listesini tek seferde çizen eklenti (plug-in).
+@FunctionalInterface
+interface ShapeBatchRenderer<S extends Shape> {
+    void renderBatch(List<S> shapes, StringBuilder out);
+}
+
+// Toplu çizim (drawAll/renderAll):
+// - Çok sayıda farklı şekil tipi aynı 'shape.render(...)' çağrı noktasından geçerse JIT o noktayı megamorfik
+//   (3+ tip) görür: Metot satır içine alınamaz (inline), her çağrı sanal tablo (vtable/itable) aramasıyla yapılır.
+// - Şekiller önce somut sınıflarına göre gruplanır; her grup o tipe kayıtlı ShapeBatchRenderer ile çizilir.
+//   Her renderer'ın döngüsü ayrı bir çağrı noktasıdır ve yalnızca tek bir tip görür (monomorfik), bu yüzden
+//   render çağrısı satır içine alınabilir. Kayıtlı olmayan tipler genel (megamorfik) döngüye düşer.
+// - Gruplar PARTITION_SIZE'lık parçalara bölünür ve büyük sahnelerde paralel çizilir; her parça kendi tamponuna
+//   yazar (thread'ler arası paylaşılan tampon veya kilit yok), sonunda tamponlar sırayla birleştirilir.
+// Not: Aynı tipteki şekillerin sırası korunur, farklı tipler arasındaki sıra korunmaz. Çizim sırasının
+// (z-order) önemli olduğu durumlarda drawShape ile tek tek çizilmelidir.
 class GoodDrawing {
+    private static final int PARTITION_SIZE = 4_096;
+    private static final ShapeBatchRenderer<Shape> GENERIC_RENDERER = (shapes, out) -> {
+        for (Shape shape : shapes) {
+            shape.render(out);
+        }
+    };
+
+    private final Map<Class<?>, ShapeBatchRenderer<?>> batchRenderers = new ConcurrentHashMap<>();
+    private final int parallelThreshold;
+
+    private record Partition(ShapeBatchRenderer<Shape> renderer, List<Shape> shapes) {}
+
+    public GoodDrawing() {
+        this(PARTITION_SIZE * 4);
+    }
+
+    // 'parallelThreshold' altındaki sahneler tek thread'de çizilir; küçük işlerde paralellik maliyeti kazançtan fazladır.
+    public GoodDrawing(int parallelThreshold) {
+        this.parallelThreshold = parallelThreshold;
+        registerBatchRenderer(Circle.class, (circles, out) -> {
+            for (Circle circle : circles) {
+                circle.render(out);
+            }
+        });
+        registerBatchRenderer(Square.class, (squares, out) -> {
+            for (Square square : squares) {
+                square.render(out);
+            }
+        });
+    }
+
     public void drawShape(Shape shape) {
         shape.draw(); // Polimorfizm sayesinde mevcut kodu değiştirmeyiz.
     }
+
+    // Yeni bir şekil tipi, GoodDrawing değiştirilmeden kendi toplu çizicisini kaydedebilir.
+    public <S extends Shape> void registerBatchRenderer(Class<S> type, ShapeBatchRenderer<S> renderer) {
+        batchRenderers.put(type, renderer);
+    }
+
+    public void drawAll(Collection<? extends Shape> shapes) {
+        System.out.print(renderAll(shapes));
+    }
+
+    @SuppressWarnings("unchecked")
+    public String renderAll(Collection<? extends Shape> shapes) {
+        Map<Class<?>, List<Shape>> groups = new LinkedHashMap<>();
+        for (Shape shape : shapes) {
+            groups.computeIfAbsent(shape.getClass(), type -> new ArrayList<>()).add(shape);
+        }
+        List<Partition> partitions = new ArrayList<>();
+        for (Map.Entry<Class<?>, List<Shape>> group : groups.entrySet()) {
+            ShapeBatchRenderer<Shape> renderer =
+                    (ShapeBatchRenderer<Shape>) batchRenderers.getOrDefault(group.getKey(), GENERIC_RENDERER);
+            List<Shape> members = group.getValue();
+            for (int from = 0; from < members.size(); from += PARTITION_SIZE) {
+                partitions.add(new Partition(renderer, members.subList(from, Math.min(members.size(), from + PARTITION_SIZE))));
+            }
+        }
+        Stream<Partition> stream = shapes.size() >= parallelThreshold ? partitions.parallelStream() : partitions.stream();
+        List<StringBuilder> buffers = stream.map(partition -> {
+            StringBuilder buffer = new StringBuilder(partition.shapes().size() * 16);
+            partition.renderer().renderBatch(partition.shapes(), buffer);
+            return buffer;
+        }).toList(); // Sıralı birleştirme: toList karşılaşma sırasını (encounter order) korur
+        int totalLength = 0;
+        for (StringBuilder buffer : buffers) {
+            totalLength += buffer.length();
+        }
+        StringBuilder merged = new StringBuilder(totalLength);
+        buffers.forEach(merged::append);
+        return merged.toString();
+    }
 }
 
 
@@ -226,6 +420,14 @@ class BadNotification { // Yüksek seviyeli modül
 // İyi Tasarım (DIP): İki sınıf da soyutlama (interface) üzerinden haberleşiyor.
 interface MessageSender { // Soyutlama (Abstraction)
     void send(String message);
+
+    // Toplu gönderim: Varsayılan olarak tek tek gönderir. Toplu API'si olan sağlayıcılar bunu ezerek
+    // (override) tek bir istekte gönderebilir; mevcut implementasyonlar değişmeden çalışmaya devam eder (OCP).
+    default void sendAll(List<String> messages) {
+        for (String message : messages) {
+            send(message);
+        }
+    }
 }
 
 class EmailService implements MessageSender { // Düşük seviyeli modül, soyutlamaya bağımlı
@@ -254,6 +456,1444 @@ class NotificationService { // Yüksek seviyeli modül, soyutlamaya bağımlı
     public void notifyUser(String message) {
         sender.send(message); // Hangi servis olduğunun önemi yok, soyutlama üzerinden çağırır.
     }
+
+    // Tekrar gönderimleri elemek için iş olayına ait sabit bir anahtar (örn. "siparis-42-onay") ile gönderir.
+    // Gönderici anahtar desteklemiyorsa (KeyedMessageSender değilse) anahtar yok sayılır.
+    public void notifyUser(String dedupKey, String message) {
+        if (sender instanceof KeyedMessageSender keyed) {
+            keyed.send(dedupKey, message);
+        } else {
+            sender.send(message);
+        }
+    }
+}
+
+
+// --- Asenkron ve Toplu (Batching) Mesaj Gönderimi ---
+// NotificationService, MessageSender soyutlamasına bağlı olduğu için (DIP) gönderim davranışını değiştirmek
+// NotificationService'e dokunmadan mümkündür: Decorator deseni ile mevcut bir MessageSender sarmalanır.
+// Boyut veya süre dolunca toplu boşaltan sınırlı kuyruk (BatchingMessageSender ve WriteBehindUserRepository ortak kullanır).
+// - Arka plandaki tek thread kuyruğu 'maxBatchSize' dolunca VEYA ilk elemanın üzerinden 'maxDelay' geçince
+//   'dispatcher'a verir.
+// - close() thread'i kesmez (interrupt): Yeni eleman kabulünü durdurur, thread kuyruk boşalana kadar toplamaya
+//   devam eder ve son (yarım) toplu işi de gönderir. Böylece kapanışta hiçbir eleman sessizce kaybolmaz.
+// - Ekleme ile kapanış aynı okuma/yazma kilidiyle sıralanır: close() döndükten sonra kuyruğa eleman giremez,
+//   girmiş olan her eleman da thread bitmeden gönderilir.
+final class BatchFlusher<T> implements AutoCloseable {
+    private static final long MAX_IDLE_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final BlockingQueue<Entry<T>> queue;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final Consumer<List<T>> dispatcher;
+    private final ReentrantReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private final Thread worker;
+    private volatile boolean closed;
+
+    private record Entry<T>(T item, long enqueuedNanos) {}
+
+    BatchFlusher(String threadName, int capacity, int maxBatchSize, Duration maxDelay, Consumer<List<T>> dispatcher) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.dispatcher = dispatcher;
+        this.worker = new Thread(this::run, threadName);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    // Kuyruk doluysa en fazla 'timeout' bekler; sığmazsa false döner. Kapatıldıysa IllegalStateException.
+    boolean offer(T item, long timeout, TimeUnit unit) throws InterruptedException {
+        closeLock.readLock().lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Kuyruk kapatıldı.");
+            }
+            return queue.offer(new Entry<>(item, System.nanoTime()), timeout, unit);
+        } finally {
+            closeLock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        return queue.size();
+    }
+
+    private void run() {
+        List<Entry<T>> batch = new ArrayList<>(maxBatchSize);
+        while (true) {
+            Entry<T> first;
+            try {
+                first = queue.poll(Math.min(maxDelayNanos, MAX_IDLE_POLL_NANOS), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                first = queue.poll();
+            }
+            if (first == null) {
+                if (closed && queue.isEmpty()) {
+                    return;
+                }
+                continue;
+            }
+            batch.add(first);
+            long deadline = first.enqueuedNanos() + maxDelayNanos;
+            // Boyut dolana veya ilk elemanın bekleme süresi bitene kadar topla; kapanışta beklemeden gönder.
+            while (batch.size() < maxBatchSize) {
+                queue.drainTo(batch, maxBatchSize - batch.size());
+                long remaining = deadline - System.nanoTime();
+                if (batch.size() >= maxBatchSize || remaining <= 0 || closed) {
+                    break;
+                }
+                Entry<T> next;
+                try {
+                    next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                } catch (InterruptedException e) {
+                    break; // Toplanan elemanlar atılmaz, aşağıda gönderilir
+                }
+                if (next == null) {
+                    break;
+                }
+                batch.add(next);
+            }
+            List<T> items = new ArrayList<>(batch.size());
+            for (Entry<T> entry : batch) {
+                items.add(entry.item());
+            }
+            batch.clear();
+            try {
+                dispatcher.accept(items);
+            } catch (RuntimeException e) {
+                System.err.println(Thread.currentThread().getName() + ": toplu gönderim hatası: " + e.getMessage());
+            }
+        }
+    }
+
+    // Yeni eleman kabul etmeyi durdurur, kuyrukta kalanlar gönderilene kadar bekler.
+    @Override
+    public void close() {
+        closeLock.writeLock().lock();
+        try {
+            closed = true;
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+        boolean interrupted = false;
+        while (true) {
+            try {
+                worker.join();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true; // Kuyruk boşalmadan dönülmez; kesme durumu sonra geri yüklenir
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
+
+// BatchingMessageSender:
+// - send() mesajı sınırlı (bounded) bir halka tampona (ring buffer: ArrayBlockingQueue sabit boyutlu dairesel
+//   bir dizidir) koyar ve hemen döner; çağıran yavaş sağlayıcıyı beklemez.
+// - Arka plandaki tek bir thread mesajları 'maxBatchSize' dolunca VEYA ilk mesajın üzerinden 'maxDelay'
+//   geçince toplu olarak gönderir (sendAll). Sağlayıcı toplu API sunuyorsa ağ gidiş-dönüşü mesaj başına değil
+//   toplu gönderim başına ödenir.
+// - Hata olursa üstel bekleme (exponential backoff + jitter) ile tekrar dener; son denemede de başarısız olan
+//   toplu gönderim 'deadLetter' tüketicisine verilir (mesaj sessizce kaybolmaz).
+// - Tampon doluysa send() en fazla 'offerTimeout' kadar bekler, sonra RejectedExecutionException fırlatır
+//   (geri basınç / backpressure: bellek sınırsız büyümez).
+// - close() yeni mesajları reddeder ve kuyrukta kalanların hepsini gönderdikten (veya deadLetter'a verdikten) sonra döner.
+class BatchingMessageSender implements MessageSender, AutoCloseable {
+    private final MessageSender delegate;
+    private final BatchFlusher<QueuedMessage> flusher;
+    private final Duration offerTimeout;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Consumer<List<String>> deadLetter;
+    private final BatchingMetrics metrics = new BatchingMetrics();
+
+    private record QueuedMessage(String message, long enqueuedNanos) {}
+
+    public BatchingMessageSender(MessageSender delegate) {
+        this(delegate, 10_000, 100, Duration.ofMillis(50), Duration.ofSeconds(1), 3, Duration.ofMillis(100),
+                failed -> System.err.println("BatchingMessageSender: " + failed.size() + " mesaj gönderilemedi."));
+    }
+
+    public BatchingMessageSender(MessageSender delegate, int capacity, int maxBatchSize, Duration maxDelay,
+                                 Duration offerTimeout, int maxAttempts, Duration initialBackoff,
+                                 Consumer<List<String>> deadLetter) {
+        this.delegate = delegate;
+        this.offerTimeout = offerTimeout;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.deadLetter = deadLetter;
+        this.flusher = new BatchFlusher<>("batching-message-sender", capacity, maxBatchSize, maxDelay, this::dispatch);
+    }
+
+    @Override
+    public void send(String message) {
+        try {
+            if (!flusher.offer(new QueuedMessage(message, System.nanoTime()), offerTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                metrics.rejected.increment();
+                throw new RejectedExecutionException("Mesaj kuyruğu dolu (" + flusher.size() + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Kuyruğa eklerken kesildi", e);
+        }
+    }
+
+    public int queueDepth() {
+        return flusher.size();
+    }
+
+    public BatchingMetrics metrics() {
+        return metrics;
+    }
+
+    private void dispatch(List<QueuedMessage> batch) {
+        List<String> messages = new ArrayList<>(batch.size());
+        for (QueuedMessage queued : batch) {
+            messages.add(queued.message());
+        }
+        long backoffNanos = initialBackoff.toNanos();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                delegate.sendAll(messages);
+                long now = System.nanoTime();
+                for (QueuedMessage queued : batch) {
+                    metrics.recordLatency(now - queued.enqueuedNanos());
+                }
+                metrics.sent.add(messages.size());
+                metrics.batches.increment();
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts) {
+                    metrics.failed.add(messages.size());
+                    deadLetter.accept(messages);
+                    return;
+                }
+                metrics.retries.increment();
+                // Jitter: Aynı anda hata alan gönderimlerin hep birlikte tekrar denemesini önler.
+                LockSupport.parkNanos(backoffNanos / 2 + ThreadLocalRandom.current().nextLong(backoffNanos / 2 + 1));
+                backoffNanos *= 2;
+            }
+        }
+    }
+
+    // Yeni mesaj kabul etmeyi durdurur, kuyrukta kalanları gönderir ve arka plan thread'ini bekler.
+    @Override
+    public void close() {
+        flusher.close();
+    }
+}
+
+// Gönderim metrikleri: LongAdder, çok sayıda thread'in aynı sayacı artırdığı durumlarda AtomicLong'dan
+// daha az çekişme yaşar. Gecikme (latency) = mesajın kuyruğa girişinden sağlayıcıya iletilmesine kadar geçen süre.
+class BatchingMetrics {
+    final LongAdder sent = new LongAdder();
+    final LongAdder failed = new LongAdder();
+    final LongAdder rejected = new LongAdder();
+    final LongAdder retries = new LongAdder();
+    final LongAdder batches = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final LongAccumulator maxLatencyNanos = new LongAccumulator(Math::max, 0);
+
+    void recordLatency(long nanos) {
+        totalLatencyNanos.add(nanos);
+        maxLatencyNanos.accumulate(nanos);
+    }
+
+    public long sentCount() {
+        return sent.sum();
+    }
+
+    public double averageLatencyMillis() {
+        long count = sent.sum();
+        return count == 0 ? 0 : totalLatencyNanos.sum() / (double) count / 1_000_000;
+    }
+
+    public double maxLatencyMillis() {
+        return maxLatencyNanos.get() / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("gönderilen=%d, başarısız=%d, reddedilen=%d, tekrar=%d, toplu=%d, ort. gecikme=%.2f ms, maks. gecikme=%.2f ms",
+                sent.sum(), failed.sum(), rejected.sum(), retries.sum(), batches.sum(), averageLatencyMillis(), maxLatencyMillis());
+    }
+}
+
+// Ölçüm için yerel sahte (stub) sağlayıcı: Gerçek bir e-posta/SMS sağlayıcısı gibi her çağrıda sabit bir ağ
+// gecikmesi (gidiş-dönüş) ve mesaj başına küçük bir işleme maliyeti uygular.
+class StubMessageProvider implements MessageSender {
+    private final long roundTripNanos;
+    private final long perMessageNanos;
+    private final LongAdder received = new LongAdder();
+
+    public StubMessageProvider(Duration roundTrip, Duration perMessage) {
+        this.roundTripNanos = roundTrip.toNanos();
+        this.perMessageNanos = perMessage.toNanos();
+    }
+
+    @Override
+    public void send(String message) {
+        sendAll(List.of(message));
+    }
+
+    @Override
+    public void sendAll(List<String> messages) {
+        LockSupport.parkNanos(roundTripNanos + perMessageNanos * messages.size());
+        received.add(messages.size());
+    }
+
+    public long receivedCount() {
+        return received.sum();
+    }
+}
+
+// Sürekli yük altında (sustained throughput) senkron ve toplu gönderimin karşılaştırması.
+// 8 üretici thread 'messageCount' mesajı NotificationService üzerinden gönderir.
+class BatchingSenderBenchmark {
+    public static void main(String[] args) throws Exception {
+        int producers = 8;
+        int messageCount = 20_000;
+        Duration roundTrip = Duration.ofMillis(2);
+        Duration perMessage = Duration.ofNanos(20_000);
+
+        StubMessageProvider syncProvider = new StubMessageProvider(roundTrip, perMessage);
+        double syncRate = run(new NotificationService(syncProvider), producers, messageCount / 10, () -> syncProvider.receivedCount());
+        System.out.printf("Senkron:  %,.0f mesaj/sn%n", syncRate);
+
+        StubMessageProvider batchProvider = new StubMessageProvider(roundTrip, perMessage);
+        try (BatchingMessageSender batching = new BatchingMessageSender(batchProvider, 10_000, 500, Duration.ofMillis(20),
+                Duration.ofSeconds(5), 3, Duration.ofMillis(50), failed -> {})) {
+            double batchRate = run(new NotificationService(batching), producers, messageCount, () -> batchProvider.receivedCount());
+            System.out.printf("Toplu:    %,.0f mesaj/sn (%s, kuyruk derinliği=%d)%n", batchRate, batching.metrics(), batching.queueDepth());
+        }
+    }
+
+    private static double run(NotificationService service, int producers, int messageCount, LongSupplier delivered) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        long start = System.nanoTime();
+        for (int p = 0; p < producers; p++) {
+            executor.submit(() -> {
+                for (int i = 0; i < messageCount / producers; i++) {
+                    service.notifyUser("mesaj-" + i);
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.MINUTES);
+        int expected = messageCount / producers * producers;
+        while (delivered.getAsLong() < expected) { // Toplu gönderimde kuyruğun boşalmasını bekle
+            Thread.sleep(1);
+        }
+        return expected / ((System.nanoTime() - start) / 1_000_000_000.0);
+    }
+}
+
+
+// --- Çok Kanallı (Fan-out) Bildirim ---
+// NotificationService tek bir MessageSender'a bağlıdır; aynı olayı hem e-posta hem SMS ile göndermek için iki
+// servis ve iki ardışık çağrı gerekir. FanOutNotificationService, bir mesajı tüm kanallara paralel gönderir.
+// Her kanal birbirinden yalıtılmıştır (bulkhead deseni), böylece yavaş veya çökmüş bir kanal diğerlerini durdurmaz:
+// - Eşzamanlılık sınırı: Her kanalın kendi sabit boyutlu thread havuzu ve sınırlı kuyruğu vardır.
+//   Kuyruk dolarsa mesaj o kanal için REJECTED olur, çağıran beklemez.
+// - Hız sınırlayıcı (token bucket): Sağlayıcının saniyelik kotasını aşmamak için; jeton yoksa RATE_LIMITED.
+// - Devre kesici (circuit breaker): Art arda 'failureThreshold' hata alan kanal 'openDuration' boyunca hiç
+//   çağrılmaz (CIRCUIT_OPEN); süre dolunca tek bir deneme isteğine izin verilir (half-open), başarılıysa kapanır.
+// - Gecikme histogramı: Kanal başına p50/p99 gecikmeleri izlemek için.
+class FanOutNotificationService implements AutoCloseable {
+    private final List<NotificationChannel> channels;
+
+    public FanOutNotificationService(List<NotificationChannel> channels) {
+        this.channels = List.copyOf(channels);
+    }
+
+    // Tüm kanallara paralel gönderir; dönen future, her kanalın sonucu belli olunca tamamlanır.
+    public CompletableFuture<List<ChannelResult>> notifyUser(String message) {
+        List<CompletableFuture<ChannelResult>> futures = new ArrayList<>(channels.size());
+        for (NotificationChannel channel : channels) {
+            futures.add(channel.dispatch(message));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignored -> futures.stream().map(CompletableFuture::join).toList());
+    }
+
+    public List<NotificationChannel> channels() {
+        return channels;
+    }
+
+    @Override
+    public void close() {
+        channels.forEach(NotificationChannel::close);
+    }
+}
+
+enum DeliveryStatus { DELIVERED, FAILED, REJECTED, RATE_LIMITED, CIRCUIT_OPEN }
+
+record ChannelResult(String channel, DeliveryStatus status, long latencyNanos, String error) {}
+
+class NotificationChannel implements AutoCloseable {
+    private final String name;
+    private final MessageSender sender;
+    private final ThreadPoolExecutor executor;
+    private final TokenBucketRateLimiter rateLimiter;
+    private final CircuitBreaker circuitBreaker;
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    public NotificationChannel(String name, MessageSender sender, int maxConcurrency, int queueCapacity,
+                               TokenBucketRateLimiter rateLimiter, CircuitBreaker circuitBreaker) {
+        this.name = name;
+        this.sender = sender;
+        this.rateLimiter = rateLimiter;
+        this.circuitBreaker = circuitBreaker;
+        this.executor = new ThreadPoolExecutor(maxConcurrency, maxConcurrency, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "notification-" + name);
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    CompletableFuture<ChannelResult> dispatch(String message) {
+        // Devre açıksa veya kota dolduysa thread havuzuna hiç gitmeden hemen sonuç dön.
+        if (!circuitBreaker.tryAcquire()) {
+            return CompletableFuture.completedFuture(new ChannelResult(name, DeliveryStatus.CIRCUIT_OPEN, 0, null));
+        }
+        if (!rateLimiter.tryAcquire()) {
+            circuitBreaker.release();
+            return CompletableFuture.completedFuture(new ChannelResult(name, DeliveryStatus.RATE_LIMITED, 0, null));
+        }
+        try {
+            return CompletableFuture.supplyAsync(() -> deliver(message), executor);
+        } catch (RejectedExecutionException e) {
+            circuitBreaker.release();
+            return CompletableFuture.completedFuture(new ChannelResult(name, DeliveryStatus.REJECTED, 0, null));
+        }
+    }
+
+    private ChannelResult deliver(String message) {
+        long start = System.nanoTime();
+        try {
+            sender.send(message);
+            long elapsed = System.nanoTime() - start;
+            latency.record(elapsed);
+            circuitBreaker.recordSuccess();
+            return new ChannelResult(name, DeliveryStatus.DELIVERED, elapsed, null);
+        } catch (RuntimeException e) {
+            long elapsed = System.nanoTime() - start;
+            latency.record(elapsed);
+            circuitBreaker.recordFailure();
+            return new ChannelResult(name, DeliveryStatus.FAILED, elapsed, e.getMessage());
+        }
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public LatencyHistogram latency() {
+        return latency;
+    }
+
+    public CircuitBreaker.State circuitState() {
+        return circuitBreaker.state();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
+
+// Token bucket: Kova 'burst' jeton alır ve saniyede 'permitsPerSecond' jeton dolar. Her istek bir jeton harcar.
+// Jetonlar, her çağrıda geçen süreye göre tembel (lazy) olarak hesaplanır; arka plan thread'i gerekmez.
+class TokenBucketRateLimiter {
+    private final double permitsPerNano;
+    private final double burst;
+    private double tokens;
+    private long lastRefillNanos;
+
+    public TokenBucketRateLimiter(double permitsPerSecond, int burst) {
+        this.permitsPerNano = permitsPerSecond / 1_000_000_000.0;
+        this.burst = burst;
+        this.tokens = burst;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    public synchronized boolean tryAcquire() {
+        long now = System.nanoTime();
+        tokens = Math.min(burst, tokens + (now - lastRefillNanos) * permitsPerNano);
+        lastRefillNanos = now;
+        if (tokens >= 1) {
+            tokens -= 1;
+            return true;
+        }
+        return false;
+    }
+}
+
+// Durumlar: CLOSED (normal) -> art arda hata -> OPEN (istekler reddedilir) -> süre dolunca HALF_OPEN
+// (tek deneme isteği) -> başarılıysa CLOSED, hatalıysa tekrar OPEN.
+class CircuitBreaker {
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openDurationNanos;
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtNanos;
+    private boolean probeInFlight;
+
+    public CircuitBreaker(int failureThreshold, Duration openDuration) {
+        this.failureThreshold = failureThreshold;
+        this.openDurationNanos = openDuration.toNanos();
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN && System.nanoTime() - openedAtNanos >= openDurationNanos) {
+            state = State.HALF_OPEN;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probeInFlight) {
+                return false;
+            }
+            probeInFlight = true;
+        }
+        return state != State.OPEN;
+    }
+
+    // İzin alındı ama istek hiç gönderilmedi (kota/kuyruk reddi): deneme hakkı geri verilir.
+    public synchronized void release() {
+        probeInFlight = false;
+    }
+
+    public synchronized void recordSuccess() {
+        consecutiveFailures = 0;
+        probeInFlight = false;
+        state = State.CLOSED;
+    }
+
+    public synchronized void recordFailure() {
+        probeInFlight = false;
+        if (state == State.HALF_OPEN || ++consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAtNanos = System.nanoTime();
+        }
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+}
+
+// Logaritmik kovalı gecikme histogramı: i. kova [2^i, 2^(i+1)) mikrosaniye aralığını sayar. Kayıt işlemi kilitsiz
+// bir dizi artırımıdır; yüzdelikler (percentile) kova üst sınırıyla yaklaşık (en fazla 2 kat) hesaplanır.
+class LatencyHistogram {
+    private final AtomicLongArray buckets = new AtomicLongArray(64);
+
+    public void record(long nanos) {
+        long micros = Math.max(1, nanos / 1_000);
+        buckets.incrementAndGet(63 - Long.numberOfLeadingZeros(micros));
+    }
+
+    public long count() {
+        long total = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            total += buckets.get(i);
+        }
+        return total;
+    }
+
+    // Örn. percentileMicros(0.99): İsteklerin %99'unun bu süreden kısa sürdüğü değer (kova üst sınırı).
+    public long percentileMicros(double percentile) {
+        long total = count();
+        if (total == 0) {
+            return 0;
+        }
+        long target = (long) Math.ceil(total * percentile);
+        long seen = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            seen += buckets.get(i);
+            if (seen >= target) {
+                return 1L << (i + 1);
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("n=%d, p50<=%d µs, p99<=%d µs", count(), percentileMicros(0.50), percentileMicros(0.99));
+    }
+}
+
+// Yavaş kanalın diğerlerini bloklamadığını gösteren örnek: SMS sağlayıcısı 200 ms sürerken e-posta kanalı
+// kendi havuzunda ~1 ms'de tamamlanır.
+class FanOutNotificationDemo {
+    public static void main(String[] args) {
+        NotificationChannel email = new NotificationChannel("email", new StubMessageProvider(Duration.ofMillis(1), Duration.ZERO),
+                16, 1_000, new TokenBucketRateLimiter(1_000, 100), new CircuitBreaker(5, Duration.ofSeconds(30)));
+        NotificationChannel sms = new NotificationChannel("sms", new StubMessageProvider(Duration.ofMillis(200), Duration.ZERO),
+                4, 100, new TokenBucketRateLimiter(20, 20), new CircuitBreaker(5, Duration.ofSeconds(30)));
+        try (FanOutNotificationService fanOut = new FanOutNotificationService(List.of(email, sms))) {
+            List<CompletableFuture<List<ChannelResult>>> pending = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                pending.add(fanOut.notifyUser("olay-" + i));
+            }
+            Map<String, Map<DeliveryStatus, Long>> summary = new TreeMap<>();
+            for (CompletableFuture<List<ChannelResult>> future : pending) {
+                for (ChannelResult result : future.join()) {
+                    summary.computeIfAbsent(result.channel(), k -> new EnumMap<>(DeliveryStatus.class))
+                            .merge(result.status(), 1L, Long::sum);
+                }
+            }
+            for (NotificationChannel channel : fanOut.channels()) {
+                System.out.println(channel.name() + ": " + summary.get(channel.name()) + " | " + channel.latency()
+                        + " | devre=" + channel.circuitState());
+            }
+        }
+    }
+}
+
+
+// --- Kalıcı Giden Kutusu (Transactional Outbox) ---
+// notifyUser mesajı doğrudan gönderirse iki sorun vardır: Uygulama gönderim ortasında çökerse mesaj kaybolur,
+// sağlayıcı yavaşsa çağıran bekler. Outbox deseninde üretici mesajı önce kalıcı bir 'giden kutusu'na yazar
+// (sadece sıralı bir ekleme: append), arka plandaki aktarıcı (relay) kutuyu toplu halde boşaltıp gerçek
+// MessageSender'a iletir. Uygulama yeniden başladığında onaylanmamış (ack) kayıtlar tekrar gönderilir:
+// Teslimat 'en az bir kez' (at-least-once) garantilidir; tekrarlar her kaydın 'dedupKey'i ile elenir.
+// İki depolama seçeneği:
+// 1) MappedOutboxLog (aşağıda): Bellek eşlemeli (memory-mapped), yalnızca sona eklenen yerel dosya. Ekleme bir
+//    bellek kopyasıdır; JVM çökse bile yazılan sayfalar işletim sistemindedir. Güç kesintisine karşı da kalıcılık
+//    gerekiyorsa 'forceOnAppend' ile her eklemede diske zorlanır (fsync; daha yavaş).
+// 2) Veritabanı tablosu: Mesaj, iş verisiyle AYNI veritabanı transaction'ında eklenir; iş verisi commit
+//    edilmezse mesaj da yazılmaz. Yerel dosya veritabanı transaction'ına katılamadığı için bu atomikliği
+//    yalnızca tablo çözümü verir:
+/*
+ * CREATE TABLE outbox (
+ *     id          BIGSERIAL PRIMARY KEY,
+ *     dedup_key   VARCHAR(100) NOT NULL UNIQUE,  -- Aynı olay iki kez yazılamaz
+ *     payload     TEXT NOT NULL,
+ *     created_at  TIMESTAMP NOT NULL DEFAULT now(),
+ *     sent_at     TIMESTAMP
+ * );
+ * CREATE INDEX idx_outbox_unsent ON outbox (id) WHERE sent_at IS NULL;
+ *
+ * // Üretici (iş transaction'ı içinde):
+ * @Transactional
+ * public void siparisOlustur(Siparis siparis) {
+ *     siparisRepository.save(siparis);
+ *     jdbcTemplate.update("INSERT INTO outbox (dedup_key, payload) VALUES (?, ?) ON CONFLICT (dedup_key) DO NOTHING",
+ *             "siparis-" + siparis.getId(), "Siparişiniz alındı: " + siparis.getId());
+ * }
+ *
+ * // Aktarıcı (birden çok uygulama örneği çalışıyorsa SKIP LOCKED ile satırlar paylaşılır):
+ * SELECT id, dedup_key, payload FROM outbox WHERE sent_at IS NULL ORDER BY id LIMIT 100 FOR UPDATE SKIP LOCKED;
+ * -- gönderim sonrası:
+ * UPDATE outbox SET sent_at = now() WHERE id IN (...);
+ */
+
+record OutboxRecord(long sequence, String dedupKey, String message) {}
+
+// Dosya düzeni: [başlık 64 bayt | kayıt | kayıt | ...]
+// Başlık: sihirli sayı, yazma konumu, onay (ack) konumu, sonraki sıra numarası.
+// Kayıt:  [int uzunluk][long sıra no][short anahtar uzunluğu][anahtar UTF-8][mesaj UTF-8]
+// Kayıt önce yazılır, yazma konumu SONRA güncellenir: Çökme anında yarım kalan kayıt yazma konumunun
+// ötesinde kalır ve yeniden açılışta görülmez.
+// Dosya dolduğunda onaylanmış kayıtların yeri geri kazanılır (compaction): Onaylanmamış kısım YENİ bir dosyaya
+// yazılır, diske zorlanır ve eski dosyanın yerine atomik olarak taşınır (rename). Çökme anında diskte ya eski
+// ya da yeni dosya tam haliyle bulunur; yerinde taşımadaki gibi yarı üzerine yazılmış veri oluşmaz.
+final class MappedOutboxLog implements AutoCloseable {
+    private static final int MAGIC = 0x4F555458; // "OUTX"
+    private static final int HEADER_SIZE = 64;
+    private static final int WRITE_POS = 8;
+    private static final int ACK_POS = 16;
+    private static final int NEXT_SEQ = 24;
+    private static final int RECORD_HEADER_SIZE = 14;
+
+    private final Path file;
+    private final Path compactionFile;
+    private final int capacityBytes;
+    private final boolean forceOnAppend;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+
+    public MappedOutboxLog(Path file, int capacityBytes, boolean forceOnAppend) {
+        this.file = file;
+        this.compactionFile = file.resolveSibling(file.getFileName() + ".compact");
+        this.capacityBytes = capacityBytes;
+        this.forceOnAppend = forceOnAppend;
+        try {
+            Files.deleteIfExists(compactionFile); // Yarım kalmış compaction: eski dosya hâlâ geçerli
+            boolean created = !Files.exists(file);
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacityBytes);
+            if (created || buffer.getInt(0) != MAGIC) {
+                buffer.putLong(WRITE_POS, HEADER_SIZE);
+                buffer.putLong(ACK_POS, HEADER_SIZE);
+                buffer.putLong(NEXT_SEQ, 1);
+                buffer.putInt(0, MAGIC);
+                buffer.force();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Outbox dosyası açılamadı: " + file, e);
+        }
+    }
+
+    // Üreticinin ödediği tek maliyet: Sıralı bir bellek kopyası (forceOnAppend değilse disk beklemesi yok).
+    public synchronized long append(String dedupKey, String message) {
+        byte[] key = dedupKey.getBytes(StandardCharsets.UTF_8);
+        byte[] body = message.getBytes(StandardCharsets.UTF_8);
+        if (key.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("dedupKey çok uzun");
+        }
+        int length = 4 + 8 + 2 + key.length + body.length;
+        if (writePosition() + length > buffer.capacity()) {
+            compact();
+            if (writePosition() + length > buffer.capacity()) {
+                throw new IllegalStateException("Outbox dolu: aktarıcı geride kalıyor");
+            }
+        }
+        long sequence = buffer.getLong(NEXT_SEQ);
+        int position = (int) writePosition();
+        buffer.putInt(position, length);
+        buffer.putLong(position + 4, sequence);
+        buffer.putShort(position + 12, (short) key.length);
+        buffer.put(position + 14, key);
+        buffer.put(position + 14 + key.length, body);
+        buffer.putLong(NEXT_SEQ, sequence + 1);
+        buffer.putLong(WRITE_POS, position + length); // Kayıt ancak bu satırdan sonra görünür olur
+        if (forceOnAppend) {
+            buffer.force();
+        }
+        return sequence;
+    }
+
+    // Onaylanmamış kayıtlardan en fazla 'max' tanesini kopyalayarak döndürür (dosyadan silmez).
+    public synchronized List<OutboxRecord> readUnacknowledged(int max) {
+        List<OutboxRecord> records = new ArrayList<>(Math.min(max, 1024));
+        long position = buffer.getLong(ACK_POS);
+        long end = writePosition();
+        while (position < end && records.size() < max) {
+            records.add(readRecord((int) position));
+            position += recordLength(position, end);
+        }
+        return records;
+    }
+
+    // Sıra numarası 'sequence' ve öncesindeki kayıtları teslim edilmiş sayar. Konum yerine sıra numarası
+    // kullanılır; böylece arada yapılan compaction kayıtları kaydırsa da onay doğru kayda uygulanır.
+    public synchronized void acknowledge(long sequence) {
+        long position = buffer.getLong(ACK_POS);
+        long end = writePosition();
+        while (position < end && buffer.getLong((int) position + 4) <= sequence) {
+            position += recordLength(position, end);
+        }
+        buffer.putLong(ACK_POS, position);
+    }
+
+    public synchronized long pendingBytes() {
+        return writePosition() - buffer.getLong(ACK_POS);
+    }
+
+    private OutboxRecord readRecord(int position) {
+        int length = buffer.getInt(position);
+        long sequence = buffer.getLong(position + 4);
+        int keyLength = buffer.getShort(position + 12);
+        byte[] key = new byte[keyLength];
+        byte[] body = new byte[length - 14 - keyLength];
+        buffer.get(position + 14, key);
+        buffer.get(position + 14 + keyLength, body);
+        return new OutboxRecord(sequence, new String(key, StandardCharsets.UTF_8), new String(body, StandardCharsets.UTF_8));
+    }
+
+    private long writePosition() {
+        return buffer.getLong(WRITE_POS);
+    }
+
+    // Bozuk (örn. sıfır uzunluklu) bir kayıtta okuma döngüsü sonsuza kadar dönmesin diye uzunluk doğrulanır.
+    private int recordLength(long position, long end) {
+        int length = buffer.getInt((int) position);
+        if (length < RECORD_HEADER_SIZE || position + length > end) {
+            throw new IllegalStateException("Bozuk outbox kaydı, konum: " + position + ", uzunluk: " + length);
+        }
+        return length;
+    }
+
+    private void compact() {
+        int ack = (int) buffer.getLong(ACK_POS);
+        int pending = (int) (writePosition() - ack);
+        if (ack == HEADER_SIZE) {
+            return;
+        }
+        try {
+            try (FileChannel target = FileChannel.open(compactionFile, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer compacted = target.map(FileChannel.MapMode.READ_WRITE, 0, capacityBytes);
+                compacted.put(HEADER_SIZE, buffer, ack, pending);
+                compacted.putLong(WRITE_POS, HEADER_SIZE + pending);
+                compacted.putLong(ACK_POS, HEADER_SIZE);
+                compacted.putLong(NEXT_SEQ, buffer.getLong(NEXT_SEQ));
+                compacted.putInt(0, MAGIC);
+                compacted.force(); // Yeni dosya tamamen diskte olmadan eskisinin yerine geçmez
+            }
+            Files.move(compactionFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            channel.close();
+            channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacityBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Outbox compaction başarısız: " + file, e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        buffer.force();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
+
+// Sağlayıcı bir idempotency anahtarını destekliyorsa (örn. HTTP 'Idempotency-Key' başlığı), aktarıcı dedupKey'i
+// iletir; yeniden başlatma sonrası tekrar gönderilen kayıtlar sağlayıcı tarafında da elenir.
+interface KeyedMessageSender extends MessageSender {
+    void send(String dedupKey, String message);
+
+    // Anahtar verilmezse her çağrı için benzersiz bir anahtar üretilir: Aynı metinli iki ayrı bildirim (örn. iki
+    // şifre değişikliği) ikisi de teslim edilir. Anahtar kayıtla birlikte yazıldığı için aktarıcının yeniden
+    // başlatma sonrası aynı kaydı tekrar göndermesi yine elenir.
+    @Override
+    default void send(String message) {
+        send("uuid:" + UUID.randomUUID(), message);
+    }
+
+    // İsteğe bağlı içerik tabanlı eleme: Anahtar mesajın SHA-256 özetidir, aynı metin pencere süresince bir kez
+    // teslim edilir. Yalnızca aynı metnin tekrarının gerçekten istenmediği mesajlar için kullanılmalıdır.
+    default void sendOnce(String message) {
+        send(contentKey(message), message);
+    }
+
+    static String contentKey(String message) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(message.getBytes(StandardCharsets.UTF_8));
+            return "sha256:" + HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // Her JVM'de SHA-256 bulunması zorunludur
+        }
+    }
+}
+
+// Decorator: NotificationService değişmeden outbox'a yazar; send() yalnızca append maliyeti öder.
+class OutboxMessageSender implements KeyedMessageSender {
+    private final MappedOutboxLog log;
+
+    public OutboxMessageSender(MappedOutboxLog log) {
+        this.log = log;
+    }
+
+    // Aynı iş olayı için her zaman aynı anahtar verilmelidir (örn. "siparis-42-onay"), tekrarlar buna göre elenir.
+    @Override
+    public void send(String dedupKey, String message) {
+        log.append(dedupKey, message);
+    }
+}
+
+// Yakın zamanda teslim edilmiş anahtarların kalıcı penceresi: Uygulama yeniden başladığında da tekrar eden
+// anahtarlar elenir. Dosya, anahtarların SHA-256 özetlerini tutan sabit boyutlu bir halkadır (ring); dolunca en eski
+// anahtarın üzerine yazılır. Dosya düzeni: [sihirli sayı (4) | boşluk (4) | sonraki yazma sayısı (8) | 32 baytlık hücreler]
+final class DeliveredKeyWindow implements AutoCloseable {
+    private static final int MAGIC = 0x444B5731; // "DKW1"
+    private static final int HEADER_SIZE = 16;
+    private static final int SLOT_SIZE = 32;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final Map<String, Integer> slotsByDigest = new HashMap<>();
+    private long next;
+
+    public DeliveredKeyWindow(Path file, int capacity) {
+        this.capacity = capacity;
+        try {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) capacity * SLOT_SIZE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Dedup dosyası açılamadı: " + file, e);
+        }
+        if (buffer.getInt(0) == MAGIC) {
+            next = buffer.getLong(8);
+            for (int slot = 0; slot < Math.min(next, capacity); slot++) {
+                slotsByDigest.put(readDigest(slot), slot);
+            }
+        } else {
+            buffer.putLong(8, 0);
+            buffer.putInt(0, MAGIC);
+        }
+    }
+
+    public synchronized boolean contains(String dedupKey) {
+        return slotsByDigest.containsKey(digest(dedupKey));
+    }
+
+    public synchronized void add(String dedupKey) {
+        String digest = digest(dedupKey);
+        if (slotsByDigest.containsKey(digest)) {
+            return;
+        }
+        int slot = (int) (next % capacity);
+        if (next >= capacity) {
+            slotsByDigest.remove(readDigest(slot), slot); // Halkanın en eski anahtarı pencereden çıkar
+        }
+        buffer.put(HEADER_SIZE + slot * SLOT_SIZE, HexFormat.of().parseHex(digest));
+        slotsByDigest.put(digest, slot);
+        buffer.putLong(8, ++next);
+    }
+
+    private String readDigest(int slot) {
+        byte[] bytes = new byte[SLOT_SIZE];
+        buffer.get(HEADER_SIZE + slot * SLOT_SIZE, bytes);
+        return HexFormat.of().formatHex(bytes);
+    }
+
+    private static String digest(String dedupKey) {
+        return KeyedMessageSender.contentKey(dedupKey).substring("sha256:".length());
+    }
+
+    @Override
+    public synchronized void close() {
+        buffer.force();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
+
+// Outbox'ı arka planda toplu halde boşaltan aktarıcı.
+// - Teslim edilmiş anahtarlar kalıcı DeliveredKeyWindow'a yazılır; üreticinin aynı anahtarla tekrar yazdığı kayıtlar
+//   (yeniden başlatma sonrası dahil) gönderilmeden onaylanır. Teslim ile anahtarın pencereye yazılması arasında
+//   çökülürse kayıt bir kez daha gönderilebilir; bu son boşluğu sağlayıcı tarafındaki idempotency anahtarı kapatır.
+// - Teslim başarısızsa onay verilmez; bekleme süresi ikiye katlanarak tekrar denenir.
+class OutboxRelay implements AutoCloseable {
+    private final MappedOutboxLog log;
+    private final MessageSender sender;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final DeliveredKeyWindow recentlyDelivered;
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    public OutboxRelay(MappedOutboxLog log, MessageSender sender, int batchSize, Duration pollInterval,
+                       DeliveredKeyWindow recentlyDelivered) {
+        this.log = log;
+        this.sender = sender;
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.recentlyDelivered = recentlyDelivered;
+        this.worker = new Thread(this::runLoop, "outbox-relay");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    private void runLoop() {
+        long backoffNanos = pollInterval.toNanos();
+        while (running) {
+            List<OutboxRecord> batch = log.readUnacknowledged(batchSize);
+            if (batch.isEmpty()) {
+                LockSupport.parkNanos(pollInterval.toNanos());
+                continue;
+            }
+            try {
+                deliver(batch);
+                log.acknowledge(batch.get(batch.size() - 1).sequence());
+                backoffNanos = pollInterval.toNanos();
+            } catch (RuntimeException e) {
+                System.err.println("OutboxRelay: teslim başarısız, tekrar denenecek: " + e.getMessage());
+                LockSupport.parkNanos(backoffNanos);
+                backoffNanos = Math.min(backoffNanos * 2, TimeUnit.SECONDS.toNanos(30));
+            }
+        }
+    }
+
+    private void deliver(List<OutboxRecord> batch) {
+        List<OutboxRecord> fresh = new ArrayList<>(batch.size());
+        Set<String> batchKeys = new HashSet<>();
+        for (OutboxRecord record : batch) {
+            if (!recentlyDelivered.contains(record.dedupKey()) && batchKeys.add(record.dedupKey())) {
+                fresh.add(record);
+            }
+        }
+        if (sender instanceof KeyedMessageSender keyed) {
+            for (OutboxRecord record : fresh) {
+                keyed.send(record.dedupKey(), record.message());
+            }
+        } else {
+            sender.sendAll(fresh.stream().map(OutboxRecord::message).toList());
+        }
+        for (OutboxRecord record : fresh) {
+            recentlyDelivered.add(record.dedupKey());
+        }
+        delivered.add(fresh.size());
+        duplicates.add(batch.size() - fresh.size());
+    }
+
+    public long deliveredCount() {
+        return delivered.sum();
+    }
+
+    public long duplicateCount() {
+        return duplicates.sum();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(worker);
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
+
+
+// --- Toplu (Bulk) Kullanıcı Raporu: Akış + Paralel Biçimlendirme ---
+// UserReportGenerator.generateReport tek bir User için çalışır; milyonlarca kullanıcıyı tek tek çekip tek tek
+// biçimlendirmek saatler sürer. BulkUserReportGenerator sorumlulukları yine ayırır (SRP): Kullanıcıları okumak
+// UserChunkSource'un, satır biçimlendirmek UserReportGenerator'ın işidir; bu sınıf yalnızca akışı yönetir:
+// 1) Kullanıcılar 'chunkSize'lık parçalar halinde çekilir (keyset sayfalama: son kullanıcı adından sonrası).
+// 2) Her parça Fork/Join ile alt aralıklara bölünür, her alt aralık kendi byte[] tamponunu paralel doldurur.
+// 3) Tamponlar sırayla tek bir toplu (gathering) yazma ile FileChannel'a yazılır.
+// Bir parça biçimlendirilirken bir sonraki parça okunur (pipelining). Bellekte en fazla iki parça bulunur;
+// rapor boyutu ne olursa olsun bellek kullanımı sınırlıdır.
+@FunctionalInterface
+interface UserChunkSource {
+    // 'lastUsername'den (hariç) sonraki en fazla 'limit' kullanıcıyı ada göre sıralı döndürür; ilk çağrıda null.
+    List<User> nextChunk(String lastUsername, int limit);
+}
+
+enum ReportFormat { CSV, JSON }
+
+record ReportStats(long rows, long elapsedNanos) {
+    public double rowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : rows / (elapsedNanos / 1_000_000_000.0);
+    }
+}
+
+class BulkUserReportGenerator {
+    private static final int LEAF_SIZE = 2_048; // Bu sayıdan az satırı olan aralık daha fazla bölünmez
+
+    private final UserReportGenerator rowFormatter;
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+
+    public BulkUserReportGenerator(UserReportGenerator rowFormatter, ForkJoinPool pool, int chunkSize) {
+        this.rowFormatter = rowFormatter;
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    public ReportStats generate(UserChunkSource source, Path output, ReportFormat format,
+                                BiConsumer<Long, Double> progress) throws IOException {
+        long start = System.nanoTime();
+        long rows = 0;
+        try (FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            write(channel, new byte[][]{(format == ReportFormat.CSV ? "username\n" : "[\n").getBytes(StandardCharsets.UTF_8)});
+            List<User> chunk = source.nextChunk(null, chunkSize);
+            while (!chunk.isEmpty()) {
+                byte[][] parts = new byte[(chunk.size() + LEAF_SIZE - 1) / LEAF_SIZE][];
+                ForkJoinTask<Void> formatting = pool.submit(new FormatTask(chunk, 0, chunk.size(), rows == 0, format, parts));
+                // Biçimlendirme sürerken bir sonraki parça okunur.
+                List<User> next = chunk.size() < chunkSize ? List.of()
+                        : source.nextChunk(chunk.get(chunk.size() - 1).getName(), chunkSize);
+                formatting.join();
+                write(channel, parts);
+                rows += chunk.size();
+                chunk = next;
+                progress.accept(rows, new ReportStats(rows, System.nanoTime() - start).rowsPerSecond());
+            }
+            if (format == ReportFormat.JSON) {
+                write(channel, new byte[][]{"\n]\n".getBytes(StandardCharsets.UTF_8)});
+            }
+        }
+        return new ReportStats(rows, System.nanoTime() - start);
+    }
+
+    private static void write(FileChannel channel, byte[][] parts) throws IOException {
+        ByteBuffer[] buffers = new ByteBuffer[parts.length];
+        long remaining = 0;
+        for (int i = 0; i < parts.length; i++) {
+            buffers[i] = ByteBuffer.wrap(parts[i]);
+            remaining += parts[i].length;
+        }
+        while (remaining > 0) {
+            remaining -= channel.write(buffers);
+        }
+    }
+
+    // Aralığı ikiye bölerek paralel biçimlendirir; her yaprak (leaf) görev kendi 'parts' hücresine yazar,
+    // bu yüzden birleştirme (merge) adımında kopyalama yoktur ve sıra korunur.
+    private final class FormatTask extends RecursiveAction {
+        private final List<User> users;
+        private final int from;
+        private final int to;
+        private final boolean firstChunk;
+        private final ReportFormat format;
+        private final byte[][] parts;
+
+        FormatTask(List<User> users, int from, int to, boolean firstChunk, ReportFormat format, byte[][] parts) {
+            this.users = users;
+            this.from = from;
+            this.to = to;
+            this.firstChunk = firstChunk;
+            this.format = format;
+            this.parts = parts;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_SIZE) {
+                StringBuilder sb = new StringBuilder((to - from) * 32);
+                for (int i = from; i < to; i++) {
+                    if (format == ReportFormat.CSV) {
+                        rowFormatter.appendCsvRow(users.get(i), sb);
+                    } else {
+                        if (!(firstChunk && i == 0)) {
+                            sb.append(",\n"); // JSON dizisinde ilk satır hariç her satırdan önce virgül
+                        }
+                        rowFormatter.appendJsonRow(users.get(i), sb);
+                    }
+                }
+                parts[from / LEAF_SIZE] = sb.toString().getBytes(StandardCharsets.UTF_8);
+                return;
+            }
+            // Orta nokta LEAF_SIZE katına yuvarlanır; böylece her yaprak tam olarak bir 'parts' hücresine denk gelir.
+            int mid = from + ((to - from) / 2 + LEAF_SIZE - 1) / LEAF_SIZE * LEAF_SIZE;
+            invokeAll(new FormatTask(users, from, mid, firstChunk, format, parts),
+                    new FormatTask(users, mid, to, firstChunk, format, parts));
+        }
+    }
+}
+
+// Milyonlarca kullanıcı için ölçüm: Sentetik kaynak veritabanı yerine kullanıcıları bellekte üretir.
+class BulkUserReportDemo {
+    public static void main(String[] args) throws IOException {
+        int totalUsers = 5_000_000;
+        UserChunkSource source = (lastUsername, limit) -> {
+            int next = lastUsername == null ? 0 : Integer.parseInt(lastUsername.substring(5)) + 1;
+            List<User> chunk = new ArrayList<>(limit);
+            for (int i = next; i < Math.min(totalUsers, next + limit); i++) {
+                chunk.add(new User(String.format("user-%08d", i)));
+            }
+            return chunk;
+        };
+        BulkUserReportGenerator generator = new BulkUserReportGenerator(new UserReportGenerator(), ForkJoinPool.commonPool(), 50_000);
+        for (ReportFormat format : ReportFormat.values()) {
+            Path output = Files.createTempFile("users-report", "." + format.name().toLowerCase());
+            ReportStats stats = generator.generate(source, output, format, (rows, rate) -> {
+                if (rows % 1_000_000 == 0) {
+                    System.out.printf("%s: %,d satır (%,.0f satır/sn)%n", format, rows, rate);
+                }
+            });
+            System.out.printf("%s tamamlandı: %,d satır, %,.0f satır/sn, %,d MB%n", format, stats.rows(),
+                    stats.rowsPerSecond(), Files.size(output) / (1024 * 1024));
+            Files.delete(output);
+        }
+    }
+}
+
+
+// --- Arkadan Yazma (Write-Behind) ile Toplu UserRepository ---
+// createUser her çağrıda ayrı bir INSERT ve ayrı bir transaction demektir; içe aktarma işlerindeki kayıt
+// patlamalarında veritabanı commit'leri darboğaz olur. WriteBehindUserRepository (Decorator) çağrıları sınırlı bir
+// kuyrukta biriktirir ve 'maxBatchSize' dolunca VEYA ilk bekleyen kaydın üzerinden 'maxDelay' geçince tek bir
+// çok satırlı INSERT (createUsers) ile yazar.
+// - createUserAsync: Kaydın veritabanına yazıldığında tamamlanan bir CompletableFuture döndürür.
+// - createUser: Kuyruğa ekler ve beklemeden döner (arkadan yazma); hatalar log'lanır. Yazıldığından emin olmak
+//   isteyen çağıran createUserAsync(...).join() veya flush() kullanır.
+// - getUser: Henüz yazılmamış (bekleyen) kayıtları da görür (read-your-writes); önce bekleyenler kontrol edilir.
+// - findUsersAfter: Sıralı sayfa bekleyenlerle birleştirilemeyeceği için önce flush() ile bekleyenler yazılır,
+//   sonra sorgu delegate'e gider (toplu rapor, çağrı anına kadar kabul edilen tüm kullanıcıları görür).
+// Not: UserRepository'ye eklenen her yeni metot burada da delegate'e yönlendirilmelidir; aksi halde üst sınıfın
+//      boş gövdesi çalışır.
+// - Kuyruk ve toplu boşaltma BatchFlusher'dır: close() kuyrukta kalan her kaydı yazar; sonrasında gelen kayıtlar reddedilir.
+// Dikkat: Uygulama yazma gerçekleşmeden çökerse bekleyen kayıtlar kaybolur. Kayıp kabul edilemiyorsa
+// createUserAsync'in future'ı tamamlanmadan kullanıcıya 'kaydedildi' denmemelidir.
+class WriteBehindUserRepository extends UserRepository implements AutoCloseable {
+    private final UserRepository delegate;
+    private final Map<String, PendingUser> pending = new ConcurrentHashMap<>();
+    private final BatchFlusher<PendingUser> flusher;
+
+    private record PendingUser(User user, CompletableFuture<User> written) {}
+
+    public WriteBehindUserRepository(UserRepository delegate, int capacity, int maxBatchSize, Duration maxDelay) {
+        this.delegate = delegate;
+        this.flusher = new BatchFlusher<>("user-write-behind", capacity, maxBatchSize, maxDelay, this::write);
+    }
+
+    // close() sonrası çağrılırsa kayıt kabul edilmez; dönen future IllegalStateException ile tamamlanır.
+    public CompletableFuture<User> createUserAsync(String username) {
+        User user = new User(username);
+        PendingUser entry = new PendingUser(user, new CompletableFuture<>());
+        pending.put(username, entry); // Kuyruğa girmeden önce görünür olmalı (read-your-writes)
+        try {
+            flusher.offer(entry, Long.MAX_VALUE, TimeUnit.NANOSECONDS); // Kuyruk doluysa bekler: geri basınç (backpressure)
+        } catch (InterruptedException e) {
+            pending.remove(username, entry);
+            Thread.currentThread().interrupt();
+            entry.written().completeExceptionally(e);
+        } catch (IllegalStateException e) {
+            pending.remove(username, entry);
+            entry.written().completeExceptionally(new IllegalStateException("WriteBehindUserRepository kapatıldı.", e));
+        }
+        return entry.written();
+    }
+
+    @Override
+    public void createUser(String username) {
+        createUserAsync(username).whenComplete((user, error) -> {
+            if (error != null) {
+                System.err.println("WriteBehindUserRepository: " + username + " yazılamadı: " + error.getMessage());
+            }
+        });
+    }
+
+    @Override
+    public void createUsers(List<String> usernames) {
+        usernames.forEach(this::createUser);
+    }
+
+    @Override
+    public User getUser(String username) {
+        PendingUser buffered = pending.get(username);
+        return buffered != null ? buffered.user() : delegate.getUser(username);
+    }
+
+    @Override
+    public List<User> findUsersAfter(String lastUsername, int limit) {
+        flush();
+        return delegate.findUsersAfter(lastUsername, limit);
+    }
+
+    // Çağrı anında bekleyen (kuyrukta veya yazılmakta olan) tüm kayıtlar yazılana kadar bekler.
+    public void flush() {
+        CompletableFuture<?>[] inFlight = pending.values().stream()
+                .map(PendingUser::written)
+                .toArray(CompletableFuture<?>[]::new);
+        CompletableFuture.allOf(inFlight).exceptionally(e -> null).join();
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    private void write(List<PendingUser> batch) {
+        List<String> usernames = new ArrayList<>(batch.size());
+        for (PendingUser entry : batch) {
+            usernames.add(entry.user().getName());
+        }
+        RuntimeException failure = null;
+        try {
+            delegate.createUsers(usernames);
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+        for (PendingUser entry : batch) {
+            // Veritabanına yazıldıktan (veya hata alındıktan) sonra tampondan çıkar; getUser artık delegate'e gider.
+            pending.remove(entry.user().getName(), entry);
+            if (failure == null) {
+                entry.written().complete(entry.user());
+            } else {
+                entry.written().completeExceptionally(failure);
+            }
+        }
+    }
+
+    // Yeni kayıt kabul etmeyi durdurur, kuyrukta kalanları yazar ve arka plan thread'ini bekler.
+    @Override
+    public void close() {
+        flusher.close();
+    }
+}
+
+// Ölçüm için sahte veritabanı: Her transaction sabit bir commit maliyeti (ağ gidiş-dönüşü + fsync) ve satır başına
+// küçük bir maliyet öder. Tek satırlık createUser ile çok satırlı createUsers arasındaki farkı bu commit maliyeti yaratır.
+class SimulatedUserStore extends UserRepository {
+    private final long commitNanos;
+    private final long perRowNanos;
+    private final Map<String, User> rows = new ConcurrentHashMap<>();
+
+    public SimulatedUserStore(Duration commit, Duration perRow) {
+        this.commitNanos = commit.toNanos();
+        this.perRowNanos = perRow.toNanos();
+    }
+
+    @Override
+    public void createUser(String username) {
+        createUsers(List.of(username));
+    }
+
+    @Override
+    public void createUsers(List<String> usernames) {
+        LockSupport.parkNanos(commitNanos + perRowNanos * usernames.size());
+        for (String username : usernames) {
+            rows.put(username, new User(username));
+        }
+    }
+
+    @Override
+    public User getUser(String username) {
+        return rows.get(username);
+    }
+
+    public int rowCount() {
+        return rows.size();
+    }
+}
+
+// Tek tek yazma ile arkadan toplu yazmanın karşılaştırması: 8 içe aktarma thread'i toplam 'userCount' kullanıcı oluşturur.
+class WriteBehindBenchmark {
+    public static void main(String[] args) throws Exception {
+        int threads = 8;
+        int userCount = 40_000;
+        Duration commit = Duration.ofMillis(1);
+        Duration perRow = Duration.ofNanos(5_000);
+
+        SimulatedUserStore direct = new SimulatedUserStore(commit, perRow);
+        double directRate = run(threads, userCount / 10, username -> direct.createUser(username));
+        System.out.printf("Tek tek yazma:      %,.0f kullanıcı/sn%n", directRate);
+
+        SimulatedUserStore store = new SimulatedUserStore(commit, perRow);
+        try (WriteBehindUserRepository writeBehind = new WriteBehindUserRepository(store, 10_000, 1_000, Duration.ofMillis(10))) {
+            double batchedRate = run(threads, userCount, username -> writeBehind.createUserAsync(username), writeBehind::flush);
+            System.out.printf("Arkadan toplu yazma: %,.0f kullanıcı/sn (satır sayısı=%d)%n", batchedRate, store.rowCount());
+        }
+    }
+
+    private static double run(int threads, int userCount, Consumer<String> create) throws Exception {
+        return run(threads, userCount, create, () -> {});
+    }
+
+    // Süre, 'awaitWritten' ile tüm kayıtlar veritabanına yazılana kadar ölçülür; böylece iki yöntem aynı
+    // dayanıklılık noktasına kadar karşılaştırılır.
+    private static double run(int threads, int userCount, Consumer<String> create, Runnable awaitWritten) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                for (int i = thread; i < userCount; i += threads) {
+                    create.accept("import-user-" + i);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        awaitWritten.run();
+        executor.shutdown();
+        return userCount / ((System.nanoTime() - start) / 1_000_000_000.0);
+    }
+}
+
+
+// --- Toplu Şekil Çizimi Ölçümü: Megamorfik Çağrı vs Tipe Göre Gruplama ---
+// Megamorfik durumu oluşturmak için ölçüme iki şekil daha eklenir (JIT 3+ tipte inline etmeyi bırakır).
+class Triangle implements Shape {
+    @Override
+    public void draw() {
+        System.out.println("Triangle çizildi.");
+    }
+    @Override
+    public void render(StringBuilder out) {
+        out.append("Triangle çizildi.\n");
+    }
+}
+
+class Hexagon implements Shape {
+    @Override
+    public void draw() {
+        System.out.println("Hexagon çizildi.");
+    }
+    @Override
+    public void render(StringBuilder out) {
+        out.append("Hexagon çizildi.\n");
+    }
+}
+
+// Çalıştırma: java -jar target/benchmarks.jar ShapeRenderingBenchmark
+// (JMH bağımlılıkları 4.CollectionFramework.java'daki benchmark modülü ile aynıdır.)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShapeRenderingBenchmark {
+    @Param({"10000", "1000000"})
+    int size;
+
+    List<Shape> scene;
+    GoodDrawing sequential;
+    GoodDrawing parallel;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        scene = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            scene.add(switch (random.nextInt(4)) { // Tipler karışık sırada: her çağrıda tip değişir
+                case 0 -> new Circle();
+                case 1 -> new Square();
+                case 2 -> new Triangle();
+                default -> new Hexagon();
+            });
+        }
+        sequential = new GoodDrawing(Integer.MAX_VALUE);
+        parallel = new GoodDrawing(0);
+        for (GoodDrawing drawing : List.of(sequential, parallel)) {
+            drawing.registerBatchRenderer(Triangle.class, (triangles, out) -> {
+                for (Triangle triangle : triangles) {
+                    triangle.render(out);
+                }
+            });
+            drawing.registerBatchRenderer(Hexagon.class, (hexagons, out) -> {
+                for (Hexagon hexagon : hexagons) {
+                    hexagon.render(out);
+                }
+            });
+        }
+    }
+
+    @Benchmark
+    public int perShapeMegamorphic() {
+        StringBuilder out = new StringBuilder(size * 16);
+        for (Shape shape : scene) {
+            shape.render(out); // Tek çağrı noktası, 4 farklı tip
+        }
+        return out.toString().length();
+    }
+
+    @Benchmark
+    public int groupedSequential() {
+        return sequential.renderAll(scene).length();
+    }
+
+    @Benchmark
+    public int groupedParallel() {
+        return parallel.renderAll(scene).length();
+    }
 }
 
 
@@ -271,6 +1911,27 @@ public class SolidPrincipleExamples {
         User john = userRepository.getUser("JohnDoe");
         reportGenerator.generateReport(john);
 
+        // Toplu rapor: Gerçek uygulamada kaynak userRepository::findUsersAfter olur (keyset sayfalama).
+        try {
+            List<User> sampleUsers = List.of(new User("ahmet"), new User("ayse"), new User("mehmet"));
+            Path reportFile = Files.createTempFile("users-report", ".json");
+            ReportStats stats = new BulkUserReportGenerator(reportGenerator, ForkJoinPool.commonPool(), 2)
+                    .generate((last, limit) -> sampleUsers.stream()
+                                    .filter(u -> last == null || u.getName().compareTo(last) > 0).limit(limit).toList(),
+                            reportFile, ReportFormat.JSON, (rows, rate) -> {});
+            System.out.println(stats.rows() + " satırlık rapor: " + Files.readString(reportFile).replace("\n", ""));
+            Files.delete(reportFile);
+        } catch (IOException e) {
+            System.err.println("Toplu rapor oluşturulamadı: " + e.getMessage());
+        }
+
+        // Arkadan yazma: createUser kuyruğa ekler; getUser henüz yazılmamış kaydı da görür.
+        try (WriteBehindUserRepository bufferedRepository = new WriteBehindUserRepository(userRepository, 1_000, 100, Duration.ofMillis(20))) {
+            bufferedRepository.createUser("JaneDoe");
+            System.out.println("Yazılmadan önce okunan: " + bufferedRepository.getUser("JaneDoe").getName());
+            bufferedRepository.createUserAsync("MaxMustermann").join(); // Yazılana kadar bekler
+        }
+
         // Open/Closed Principle
         System.out.println("\n--- Open/Closed Principle ---");
         GoodDrawing goodDrawing = new GoodDrawing();
@@ -278,6 +1939,8 @@ public class SolidPrincipleExamples {
         goodDrawing.drawShape(new Square());
         // Yeni bir şekil (örn: Triangle) eklemek için 'GoodDrawing' sınıfını değiştirmemize gerek yok.
         // Sadece 'Triangle' sınıfını implemente eden yeni bir 'Shape' oluştururuz.
+        // Toplu çizim: Şekiller tiplerine göre gruplanıp çizilir (büyük sahnelerde paralel).
+        goodDrawing.drawAll(List.of(new Circle(), new Square(), new Circle()));
 
         // Liskov Substitution Principle
         System.out.println("\n--- Liskov Substitution Principle ---");
@@ -303,5 +1966,42 @@ public class SolidPrincipleExamples {
 
         NotificationService smsNotification = new NotificationService(new SmsService());
         smsNotification.notifyUser("SMS ile selamlar!");
+
+        // Decorator: NotificationService değişmeden gönderim asenkron ve toplu hale gelir.
+        try (BatchingMessageSender batchingEmail = new BatchingMessageSender(new EmailService())) {
+            NotificationService asyncNotification = new NotificationService(batchingEmail);
+            asyncNotification.notifyUser("Toplu gönderim 1");
+            asyncNotification.notifyUser("Toplu gönderim 2");
+        } // close(): kuyrukta kalan mesajlar gönderilir
+
+        // Outbox: Mesaj önce kalıcı dosyaya eklenir, arka plandaki aktarıcı sonra teslim eder.
+        try {
+            Path outboxFile = Files.createTempFile("notification-outbox", ".log");
+            Path dedupFile = Files.createTempFile("notification-outbox", ".keys");
+            try (MappedOutboxLog outbox = new MappedOutboxLog(outboxFile, 1 << 20, false);
+                 DeliveredKeyWindow deliveredKeys = new DeliveredKeyWindow(dedupFile, 10_000);
+                 OutboxRelay relay = new OutboxRelay(outbox, new EmailService(), 100, Duration.ofMillis(10), deliveredKeys)) {
+                NotificationService durableNotification = new NotificationService(new OutboxMessageSender(outbox));
+                durableNotification.notifyUser("kayit-JohnDoe-hosgeldin", "Outbox üzerinden selamlar!");
+                durableNotification.notifyUser("kayit-JohnDoe-hosgeldin", "Outbox üzerinden selamlar!"); // Tekrar: elenir
+                while (outbox.pendingBytes() > 0) {
+                    Thread.sleep(10);
+                }
+            }
+            Files.deleteIfExists(outboxFile);
+            Files.deleteIfExists(dedupFile);
+        } catch (IOException | InterruptedException e) {
+            System.err.println("Outbox örneği çalıştırılamadı: " + e.getMessage());
+        }
+
+        // Fan-out: Tek çağrı ile aynı mesaj hem e-posta hem SMS kanalına paralel gönderilir.
+        try (FanOutNotificationService fanOut = new FanOutNotificationService(List.of(
+                new NotificationChannel("email", new EmailService(), 8, 100,
+                        new TokenBucketRateLimiter(100, 10), new CircuitBreaker(5, Duration.ofSeconds(30))),
+                new NotificationChannel("sms", new SmsService(), 2, 100,
+                        new TokenBucketRateLimiter(10, 5), new CircuitBreaker(5, Duration.ofSeconds(30)))))) {
+            fanOut.notifyUser("Tüm kanallardan selamlar!").join()
+                    .forEach(result -> System.out.println(result.channel() + " -> " + result.status()));
+        }
     }
 }
\ No newline at end of file
@@ -11,6 +11,46 @@ import java.util.Set;       // Benzersiz elemanlar için arayüz
 import java.util.LinkedList; // List interface'inin başka bir implementasyonu
 import java.util.TreeSet;    // Sıralı Set implementasyonu
 import java.util.TreeMap;    // Sıralı Map implementasyonu
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+
+// Bellek eşlemeli (memory-mapped) dosya erişimi için NIO import'ları
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Benchmark ve bellek ölçümü için JMH ve JOL import'ları
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jol.info.GraphLayout;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
 
 public class CollectionsAndDataStructures {
 
@@ -92,5 +132,2016 @@ public class CollectionsAndDataStructures {
 
         Map<Integer, String> immutableMap = Map.of(1, "Bir", 2, "İki");
         System.out.println("Değiştirilemez Map: " + immutableMap);
+
+
+        // --------------------------------------------------------------------------------------
+        // Primitive (İlkel Tipli) Koleksiyonlar
+        // JDK koleksiyonları sadece nesne tutabilir: HashSet<Integer>'a eklenen her int bir Integer nesnesine
+        // dönüştürülür (boxing) ve HashSet her eleman için ayrıca bir HashMap.Node nesnesi oluşturur.
+        // 1 milyon sayı için bu, ~48 MB ve her aramada birkaç işaretçi takibi (pointer chasing) demektir.
+        // Aşağıdaki IntHashSet, LongObjectMap ve IntArrayList değerleri doğrudan int[] / long[] dizilerinde tutar
+        // (open addressing: çakışmada bir sonraki boş hücreye geçilir). Eleman başına ek nesne oluşmaz.
+        // --------------------------------------------------------------------------------------
+        System.out.println("\n--- Primitive Koleksiyonlar ---");
+        IntHashSet idler = new IntHashSet();
+        idler.add(10);
+        idler.add(20);
+        idler.add(10); // Tekrar eklenmez
+        System.out.println("IntHashSet boyutu: " + idler.size() + ", 20 var mı? " + idler.contains(20));
+
+        LongObjectMap<String> urunAdlari = new LongObjectMap<>();
+        urunAdlari.put(1001L, "Klavye");
+        urunAdlari.put(1002L, "Mouse");
+        System.out.println("1002 numaralı ürün: " + urunAdlari.get(1002L));
+
+        IntArrayList puanlar = new IntArrayList();
+        puanlar.add(90);
+        puanlar.add(75);
+        System.out.println("İlk puan: " + puanlar.get(0) + ", puan sayısı: " + puanlar.size());
+
+
+        // --------------------------------------------------------------------------------------
+        // Frozen (Dondurulmuş) Koleksiyonlar
+        // Büyük ve hiç değişmeyen veri setleri için (örn. binlerce ülke/kategori kodu).
+        // Set/Map: Mükemmel hash (perfect hash) ile her arama tek bir hücreye bakar.
+        // Sıralı Set/Map: Elemanlar sıralı bir dizide tutulur, arama ikili arama (binary search) ile yapılır.
+        // Eleman başına düğüm (Node) nesnesi olmadığı için HashSet/HashMap'ten daha az bellek kullanır.
+        // --------------------------------------------------------------------------------------
+        System.out.println("\n--- Frozen Koleksiyonlar ---");
+        Set<String> ulkeKodlari = FrozenCollections.setOf(List.of("TR", "DE", "FR", "US"));
+        Map<String, String> kategoriler = FrozenCollections.sortedMapOf(Map.of("ELK", "Elektronik", "KTP", "Kitap"));
+        System.out.println("Frozen Küme TR içeriyor mu? " + ulkeKodlari.contains("TR"));
+        System.out.println("Frozen Sıralı Map: " + kategoriler);
+
+
+        // --------------------------------------------------------------------------------------
+        // Eşzamanlı (Concurrent) Map
+        // Birden çok thread'in aynı anda güncellediği tablolarda HashMap kullanılamaz.
+        // StripedMap anahtarları şeritlere (stripe) böler, her şeridin kendi kilidi vardır; farklı
+        // şeritlerdeki işlemler birbirini beklemez.
+        // merge/compute atomiktir, sayaç artırmak için ayrıca 'synchronized' gerekmez.
+        // --------------------------------------------------------------------------------------
+        System.out.println("\n--- Eşzamanlı Map (StripedMap) ---");
+        Map<String, Long> istekSayaci = new StripedMap<>();
+        istekSayaci.merge("/api/products", 1L, Long::sum);
+        istekSayaci.merge("/api/products", 1L, Long::sum);
+        System.out.println("Eşzamanlı Sayaç: " + istekSayaci);
+    }
+}
+
+
+// --- Primitive Koleksiyon Kütüphanesi ---
+// Ortak noktalar:
+// - Tablo boyutu 2'nin kuvvetidir, böylece "hash % boyut" yerine hızlı "hash & mask" kullanılır.
+// - 0, "boş hücre" anlamına gelir; 0 anahtarı ayrı bir alanda (hasZero) tutulur.
+// - Silmede "backward shift" yapılır: Silinen hücreden sonraki elemanlar geri kaydırılır,
+//   böylece mezar taşı (tombstone) kalmaz ve aramalar zamanla yavaşlamaz.
+// - Thread-safe değildir (HashSet ve HashMap gibi).
+
+final class IntHashSet {
+    private static final float LOAD_FACTOR = 0.5f; // Tablo en fazla yarı dolu tutulur, çakışma zinciri kısa kalır
+
+    private int[] keys;
+    private int mask;
+    private int resizeAt;
+    private int size;
+    private boolean hasZero;
+
+    public IntHashSet() {
+        this(16);
+    }
+
+    public IntHashSet(int expectedSize) {
+        allocate(PrimitiveHashing.tableSize(expectedSize, LOAD_FACTOR));
+    }
+
+    public boolean add(int key) {
+        if (key == 0) {
+            if (hasZero) {
+                return false;
+            }
+            hasZero = true;
+            size++;
+            return true;
+        }
+        int pos = PrimitiveHashing.mix(key) & mask;
+        int current;
+        while ((current = keys[pos]) != 0) {
+            if (current == key) {
+                return false;
+            }
+            pos = (pos + 1) & mask;
+        }
+        keys[pos] = key;
+        if (++size >= resizeAt) {
+            rehash(keys.length * 2);
+        }
+        return true;
+    }
+
+    public boolean contains(int key) {
+        if (key == 0) {
+            return hasZero;
+        }
+        int pos = PrimitiveHashing.mix(key) & mask;
+        int current;
+        while ((current = keys[pos]) != 0) {
+            if (current == key) {
+                return true;
+            }
+            pos = (pos + 1) & mask;
+        }
+        return false;
+    }
+
+    public boolean remove(int key) {
+        if (key == 0) {
+            if (!hasZero) {
+                return false;
+            }
+            hasZero = false;
+            size--;
+            return true;
+        }
+        int pos = PrimitiveHashing.mix(key) & mask;
+        int current;
+        while ((current = keys[pos]) != 0) {
+            if (current == key) {
+                shiftKeys(pos);
+                size--;
+                return true;
+            }
+            pos = (pos + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Boşalan hücreye, kendi hash konumu bu hücreye "ulaşabilen" sonraki elemanları geri taşır.
+    private void shiftKeys(int pos) {
+        while (true) {
+            int last = pos;
+            pos = (pos + 1) & mask;
+            int current;
+            while (true) {
+                if ((current = keys[pos]) == 0) {
+                    keys[last] = 0;
+                    return;
+                }
+                int slot = PrimitiveHashing.mix(current) & mask;
+                if (last <= pos ? (last >= slot || slot > pos) : (last >= slot && slot > pos)) {
+                    break;
+                }
+                pos = (pos + 1) & mask;
+            }
+            keys[last] = current;
+        }
+    }
+
+    private void rehash(int newCapacity) {
+        int[] oldKeys = keys;
+        allocate(newCapacity);
+        for (int key : oldKeys) {
+            if (key != 0) {
+                int pos = PrimitiveHashing.mix(key) & mask;
+                while (keys[pos] != 0) {
+                    pos = (pos + 1) & mask;
+                }
+                keys[pos] = key;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+}
+
+// long anahtar -> nesne değer. Anahtarlar ve değerler iki paralel dizide tutulur (Map.Entry nesnesi yok).
+final class LongObjectMap<V> {
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int resizeAt;
+    private int size;
+    private boolean hasZeroKey;
+    private V zeroValue;
+
+    public LongObjectMap() {
+        this(16);
+    }
+
+    public LongObjectMap(int expectedSize) {
+        allocate(PrimitiveHashing.tableSize(expectedSize, LOAD_FACTOR));
+    }
+
+    // Map.put gibi: Anahtar zaten varsa değeri günceller ve eski değeri döndürür.
+    public V put(long key, V value) {
+        if (key == 0) {
+            V old = zeroValue;
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return old;
+        }
+        int pos = PrimitiveHashing.mix(key) & mask;
+        long current;
+        while ((current = keys[pos]) != 0) {
+            if (current == key) {
+                V old = valueAt(pos);
+                values[pos] = value;
+                return old;
+            }
+            pos = (pos + 1) & mask;
+        }
+        keys[pos] = key;
+        values[pos] = value;
+        if (++size >= resizeAt) {
+            rehash(keys.length * 2);
+        }
+        return null;
+    }
+
+    public V get(long key) {
+        if (key == 0) {
+            return zeroValue;
+        }
+        int pos = PrimitiveHashing.mix(key) & mask;
+        long current;
+        while ((current = keys[pos]) != 0) {
+            if (current == key) {
+                return valueAt(pos);
+            }
+            pos = (pos + 1) & mask;
+        }
+        return null;
+    }
+
+    public boolean containsKey(long key) {
+        if (key == 0) {
+            return hasZeroKey;
+        }
+        int pos = PrimitiveHashing.mix(key) & mask;
+        long current;
+        while ((current = keys[pos]) != 0) {
+            if (current == key) {
+                return true;
+            }
+            pos = (pos + 1) & mask;
+        }
+        return false;
+    }
+
+    public V remove(long key) {
+        if (key == 0) {
+            V old = zeroValue;
+            if (hasZeroKey) {
+                hasZeroKey = false;
+                zeroValue = null;
+                size--;
+            }
+            return old;
+        }
+        int pos = PrimitiveHashing.mix(key) & mask;
+        long current;
+        while ((current = keys[pos]) != 0) {
+            if (current == key) {
+                V old = valueAt(pos);
+                shiftKeys(pos);
+                size--;
+                return old;
+            }
+            pos = (pos + 1) & mask;
+        }
+        return null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valueAt(int pos) {
+        return (V) values[pos];
+    }
+
+    private void shiftKeys(int pos) {
+        while (true) {
+            int last = pos;
+            pos = (pos + 1) & mask;
+            long current;
+            while (true) {
+                if ((current = keys[pos]) == 0) {
+                    keys[last] = 0;
+                    values[last] = null; // Değere referans kalmasın (GC için)
+                    return;
+                }
+                int slot = PrimitiveHashing.mix(current) & mask;
+                if (last <= pos ? (last >= slot || slot > pos) : (last >= slot && slot > pos)) {
+                    break;
+                }
+                pos = (pos + 1) & mask;
+            }
+            keys[last] = current;
+            values[last] = values[pos];
+        }
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(newCapacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int pos = PrimitiveHashing.mix(oldKeys[i]) & mask;
+                while (keys[pos] != 0) {
+                    pos = (pos + 1) & mask;
+                }
+                keys[pos] = oldKeys[i];
+                values[pos] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+}
+
+// ArrayList<Integer>'ın int[] tabanlı karşılığı: get(i) doğrudan dizi erişimidir, unboxing yoktur.
+final class IntArrayList {
+    private int[] data;
+    private int size;
+
+    public IntArrayList() {
+        this(10);
+    }
+
+    public IntArrayList(int initialCapacity) {
+        data = new int[Math.max(1, initialCapacity)];
+    }
+
+    public void add(int value) {
+        if (size == data.length) {
+            data = Arrays.copyOf(data, data.length + (data.length >> 1) + 1); // ArrayList gibi ~1.5 kat büyür
+        }
+        data[size++] = value;
+    }
+
+    public int get(int index) {
+        Objects.checkIndex(index, size);
+        return data[index];
+    }
+
+    public int set(int index, int value) {
+        Objects.checkIndex(index, size);
+        int old = data[index];
+        data[index] = value;
+        return old;
+    }
+
+    public int removeAt(int index) {
+        Objects.checkIndex(index, size);
+        int old = data[index];
+        System.arraycopy(data, index + 1, data, index, size - index - 1);
+        size--;
+        return old;
+    }
+
+    public boolean contains(int value) {
+        for (int i = 0; i < size; i++) {
+            if (data[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(data, size);
+    }
+}
+
+// Ortak hash yardımcıları.
+final class PrimitiveHashing {
+    private PrimitiveHashing() {}
+
+    // Ardışık ID'ler (1, 2, 3...) tabloda kümelenmesin diye bitler karıştırılır (Fibonacci hashing).
+    static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    static int tableSize(int expectedSize, float loadFactor) {
+        int capacity = 2;
+        while (capacity * loadFactor <= expectedSize) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
+
+
+// --- Primitive ve JDK Koleksiyonları için JMH Karşılaştırması ---
+// JMH, @State/@Benchmark sınıflarının public olmasını ister (iç sınıflar ise public static olmalıdır);
+// bu dosyadaki diğer public sınıflar gibi benchmark sınıfları da kendi dosyalarında yer alır.
+// Çalıştırma: java -jar target/benchmarks.jar PrimitiveCollectionsBenchmark -prof gc
+// -prof gc çıktısındaki gc.alloc.rate.norm, işlem başına ayrılan byte'ı gösterir (boxing maliyeti).
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimitiveCollectionsBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    int size;
+
+    int[] keys;
+    Set<Integer> jdkSet;
+    IntHashSet intSet;
+    Map<Long, String> jdkMap;
+    LongObjectMap<String> longMap;
+    List<Integer> jdkList;
+    IntArrayList intList;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        keys = new int[size];
+        jdkSet = new HashSet<>();
+        intSet = new IntHashSet();
+        jdkMap = new HashMap<>();
+        longMap = new LongObjectMap<>();
+        jdkList = new ArrayList<>();
+        intList = new IntArrayList();
+        for (int i = 0; i < size; i++) {
+            keys[i] = random.nextInt();
+            jdkSet.add(keys[i]);
+            intSet.add(keys[i]);
+            jdkMap.put((long) keys[i], "v");
+            longMap.put(keys[i], "v");
+            jdkList.add(keys[i]);
+            intList.add(keys[i]);
+        }
+    }
+
+    @Benchmark
+    public Set<Integer> hashSetAdd() {
+        Set<Integer> set = new HashSet<>();
+        for (int key : keys) {
+            set.add(key); // Her eleman için Integer + HashMap.Node
+        }
+        return set;
+    }
+
+    @Benchmark
+    public IntHashSet intHashSetAdd() {
+        IntHashSet set = new IntHashSet();
+        for (int key : keys) {
+            set.add(key);
+        }
+        return set;
+    }
+
+    @Benchmark
+    public int hashSetContains() {
+        int found = 0;
+        for (int key : keys) {
+            if (jdkSet.contains(key)) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int intHashSetContains() {
+        int found = 0;
+        for (int key : keys) {
+            if (intSet.contains(key)) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int hashMapGet() {
+        int found = 0;
+        for (int key : keys) {
+            if (jdkMap.get((long) key) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int longObjectMapGet() {
+        int found = 0;
+        for (int key : keys) {
+            if (longMap.get(key) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public long arrayListSum() {
+        long sum = 0;
+        for (int i = 0; i < jdkList.size(); i++) {
+            sum += jdkList.get(i); // Unboxing + Integer nesnesine işaretçi takibi
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long intArrayListSum() {
+        long sum = 0;
+        for (int i = 0; i < intList.size(); i++) {
+            sum += intList.get(i);
+        }
+        return sum;
+    }
+}
+
+// --- JDK Koleksiyonları Karşılaştırma Benchmark'ları (List, Set, Map) ---
+// Yukarıdaki main metodunda kullanılan işlemleri (add, get(0), remove(Object), contains, put ile üzerine yazma)
+// 10 ile 10 milyon eleman arasında ölçer. Her benchmark sınıfında 'impl' parametresi ile iki implementasyon
+// aynı işlemlerle karşılaştırılır. Yapıyı değiştiren işlemlerde boyut sabit kalsın diye eklenen eleman
+// aynı benchmark içinde geri silinir (veya silinen geri eklenir); bu yüzden sonuçlar işlem çifti içindir.
+// 10M elemanlı LinkedList/TreeMap için yeterli heap gerekir (aşağıda -Xmx4g).
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ListBenchmark {
+    @Param({"ArrayList", "LinkedList"})
+    String impl;
+
+    @Param({"10", "1000", "100000", "10000000"})
+    int size;
+
+    List<Integer> list;
+    Integer middle;
+
+    @Setup
+    public void setup() {
+        list = "ArrayList".equals(impl) ? new ArrayList<>() : new LinkedList<>();
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        middle = size / 2;
+    }
+
+    @Benchmark
+    public Integer addAndRemoveLast() {
+        list.add(-1); // Sona ekleme: ikisi için de O(1) (ArrayList'te ara sıra dizi büyütme)
+        return list.remove(list.size() - 1);
+    }
+
+    @Benchmark
+    public Integer getFirst() {
+        return list.get(0); // ikisi için de O(1)
+    }
+
+    @Benchmark
+    public Integer getMiddle() {
+        return list.get(size / 2); // ArrayList O(1), LinkedList O(n) düğüm gezme
+    }
+
+    @Benchmark
+    public boolean removeObjectAndAdd() {
+        boolean removed = list.remove(middle); // remove(Object): ikisi için de O(n) arama
+        // Eleman eski yerine geri eklenir. Sona eklenseydi her çağrıda liste biraz daha değişir ve sonraki
+        // remove(middle) aramayı sona doğru kaydırırdı. ArrayList'te eleman kaydırma, LinkedList'te düğüm gezme: O(n)
+        list.add(size / 2, middle);
+        return removed;
+    }
+
+    @Benchmark
+    public boolean containsMissing() {
+        return list.contains(-1); // En kötü durum: tüm liste taranır
+    }
+}
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SetBenchmark {
+    @Param({"HashSet", "TreeSet"})
+    String impl;
+
+    @Param({"10", "1000", "100000", "10000000"})
+    int size;
+
+    Set<Integer> set;
+    int[] lookups; // Önbellek etkisini gerçekçi tutmak için rastgele sıralı aramalar
+    int cursor;
+
+    @Setup
+    public void setup() {
+        set = "HashSet".equals(impl) ? new HashSet<>() : new TreeSet<>();
+        for (int i = 0; i < size; i++) {
+            set.add(i);
+        }
+        Random random = new Random(42);
+        lookups = new int[1024];
+        for (int i = 0; i < lookups.length; i++) {
+            lookups[i] = random.nextInt(size);
+        }
+    }
+
+    private int nextKey() {
+        return lookups[cursor++ & (lookups.length - 1)];
+    }
+
+    @Benchmark
+    public boolean addAndRemove() {
+        set.add(-1); // HashSet O(1), TreeSet O(log n)
+        return set.remove(-1);
+    }
+
+    @Benchmark
+    public boolean contains() {
+        return set.contains(nextKey());
+    }
+
+    @Benchmark
+    public boolean removeObjectAndAdd() {
+        int key = nextKey();
+        boolean removed = set.remove(key);
+        set.add(key);
+        return removed;
+    }
+}
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class MapBenchmark {
+    @Param({"HashMap", "TreeMap"})
+    String impl;
+
+    @Param({"10", "1000", "100000", "10000000"})
+    int size;
+
+    Map<String, String> map; // telefonKodlari örneğindeki gibi String -> String
+    String[] keys;
+    int cursor;
+
+    @Setup
+    public void setup() {
+        map = "HashMap".equals(impl) ? new HashMap<>() : new TreeMap<>();
+        for (int i = 0; i < size; i++) {
+            map.put("K" + i, "+" + i);
+        }
+        Random random = new Random(42);
+        keys = new String[1024];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = "K" + random.nextInt(size);
+        }
+    }
+
+    private String nextKey() {
+        return keys[cursor++ & (keys.length - 1)];
+    }
+
+    @Benchmark
+    public String putOverwrite() {
+        return map.put(nextKey(), "0090"); // telefonKodlari.put("TR", "0090") gibi: mevcut anahtarın değeri güncellenir
+    }
+
+    @Benchmark
+    public String get() {
+        return map.get(nextKey());
+    }
+
+    @Benchmark
+    public boolean containsKey() {
+        return map.containsKey(nextKey());
+    }
+
+    @Benchmark
+    public String putNewAndRemove() {
+        map.put("YENI", "+0");
+        return map.remove("YENI");
+    }
+}
+
+// Tüm koleksiyon benchmark'larını GC profiler'ı ile çalıştırır. Sonuçlardaki
+// gc.alloc.rate.norm (byte/op) değeri işlem başına bellek ayırmayı gösterir (örn. LinkedList ve
+// TreeMap her eklemede bir düğüm nesnesi, HashMap ise bir Node nesnesi ayırır).
+class CollectionBenchmarkRunner {
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include("ListBenchmark|SetBenchmark|MapBenchmark")
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.CSV)
+                .result("collections-benchmark.csv")
+                .build();
+        new Runner(options).run();
+    }
+}
+
+/*
+ * Benchmark Maven Modülü (ör. 'collections-benchmarks/pom.xml'):
+ * JMH benchmark'ları ayrı bir modülde tutulur ve shade plugin ile çalıştırılabilir bir jar üretilir.
+ * <artifactId>collections-benchmarks</artifactId>
+ * <packaging>jar</packaging>
+ * <dependencies>
+ * <dependency>
+ * <groupId>org.openjdk.jmh</groupId>
+ * <artifactId>jmh-core</artifactId>
+ * <version>1.37</version>
+ * </dependency>
+ * <dependency>
+ * <groupId>org.openjdk.jmh</groupId>
+ * <artifactId>jmh-generator-annprocess</artifactId>
+ * <version>1.37</version>
+ * <scope>provided</scope>
+ * </dependency>
+ * <dependency>
+ * <groupId>org.openjdk.jol</groupId>
+ * <artifactId>jol-core</artifactId>
+ * <version>0.17</version>
+ * </dependency>
+ * </dependencies>
+ * <build>
+ * <plugins>
+ * <plugin>
+ * <groupId>org.apache.maven.plugins</groupId>
+ * <artifactId>maven-shade-plugin</artifactId>
+ * <version>3.5.1</version>
+ * <executions>
+ * <execution>
+ * <phase>package</phase>
+ * <goals><goal>shade</goal></goals>
+ * <configuration>
+ * <finalName>benchmarks</finalName>
+ * <transformers>
+ * <transformer implementation="org.apache.maven.plugins.shade.resource.ManifestResourceTransformer">
+ * <mainClass>org.openjdk.jmh.Main</mainClass>
+ * </transformer>
+ * </transformers>
+ * </configuration>
+ * </execution>
+ * </executions>
+ * </plugin>
+ * </plugins>
+ * </build>
+ *
+ * Çalıştırma:
+ * mvn -pl collections-benchmarks package
+ * java -jar collections-benchmarks/target/benchmarks.jar "ListBenchmark|SetBenchmark|MapBenchmark" -prof gc
+ */
+
+// Bellek kullanımı karşılaştırması: JOL (Java Object Layout) ile nesne grafiğinin toplam boyutu ölçülür.
+// (JMH ve JOL bağımlılıkları yukarıdaki benchmark modülü pom'undadır.)
+class PrimitiveCollectionsFootprint {
+    public static void main(String[] args) {
+        int size = 1_000_000;
+        Set<Integer> jdkSet = new HashSet<>();
+        IntHashSet intSet = new IntHashSet();
+        for (int i = 0; i < size; i++) {
+            jdkSet.add(i * 7919); // Integer önbelleği (-128..127) dışında kalan değerler
+            intSet.add(i * 7919);
+        }
+        System.out.println("HashSet<Integer>: " + GraphLayout.parseInstance(jdkSet).totalSize() / 1024 + " KB");
+        System.out.println("IntHashSet:       " + GraphLayout.parseInstance(intSet).totalSize() / 1024 + " KB");
+    }
+}
+
+// --- Off-Heap, Bellek Eşlemeli (Memory-Mapped) Map<String, String> ---
+// telefonKodlari gibi String -> String tablolar on milyonlarca kayda ulaştığında, her kayıt için
+// HashMap.Node + 2 String + 2 byte[] nesnesi heap'te durur. GC her tam toplamada bu nesnelerin hepsini
+// gezmek zorunda kaldığı için duraklamalar (GC pause) uzar.
+// MappedStringMap veriyi heap yerine işletim sisteminin sayfa önbelleğine (page cache) eşlenmiş iki dosyada tutar:
+// - <ad>.idx: Başlık + open addressing index (her hücre, kaydın veri dosyasındaki konumu, long)
+// - <ad>.dat: Sadece sona eklenen (append-only) kayıtlar: [anahtar uzunluğu][değer uzunluğu][anahtar][değer]
+// Heap'te sadece birkaç ByteBuffer nesnesi bulunur; GC için tablo boyutunun önemi kalmaz.
+// Dosyalar kalıcıdır: Uygulama yeniden başladığında open(...) ile açılır; veriler hâlâ işletim sisteminin
+// sayfa önbelleğinde olduğu için ilk okumalar da hızlıdır (warm page cache).
+// Sınırlamalar:
+// - Kapasite oluşturulurken sabitlenir (yeniden boyutlandırma yok); beklenen kayıt sayısı ile oluşturulmalıdır.
+// - Güncellenen/silinen kayıtların eski verisi .dat dosyasında kalır (sıkıştırma/compaction yok).
+// - Yazma işlemleri thread-safe değildir; salt okunur modda eşzamanlı okuma güvenlidir.
+final class MappedStringMap extends AbstractMap<String, String> implements AutoCloseable {
+    private static final int MAGIC = 0x4D534D31;        // "MSM1"
+    private static final int HEADER_SIZE = 32;          // magic(4) + boşluk(4) + capacity(8) + size(8) + dataEnd(8)
+    private static final long SEGMENT_SIZE = 1L << 30;  // Tek bir MappedByteBuffer en fazla 2 GB olabilir; 1 GB'lık parçalar
+    private static final long EMPTY = 0L;
+    private static final long TOMBSTONE = -1L;          // Silinen hücre; arama zinciri kopmasın diye boş sayılmaz
+    private static final float MAX_LOAD = 0.7f;
+
+    private final FileChannel indexChannel;
+    private final FileChannel dataChannel;
+    private final MappedByteBuffer index;
+    private final List<MappedByteBuffer> dataSegments = new ArrayList<>();
+    private final boolean readOnly;
+    private final long capacity;
+    private final long mask;
+    private long size;
+    private long used;      // Dolu + mezar taşı hücre sayısı (yük oranı kontrolü için)
+    private long dataEnd;
+
+    private MappedStringMap(Path base, boolean create, long capacity, boolean readOnly) throws IOException {
+        this.readOnly = readOnly;
+        // create: Aynı yolda eski dosyalar varsa sıfırlanır; aksi halde eski index hücreleri yeni tabloda kalırdı.
+        Set<StandardOpenOption> options = readOnly
+                ? Set.of(StandardOpenOption.READ)
+                : create
+                ? Set.of(StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING)
+                : Set.of(StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+        this.indexChannel = FileChannel.open(base.resolveSibling(base.getFileName() + ".idx"), options);
+        this.dataChannel = FileChannel.open(base.resolveSibling(base.getFileName() + ".dat"), options);
+        FileChannel.MapMode mode = readOnly ? FileChannel.MapMode.READ_ONLY : FileChannel.MapMode.READ_WRITE;
+
+        if (create) {
+            this.index = indexChannel.map(mode, 0, HEADER_SIZE + capacity * Long.BYTES);
+            index.putInt(0, MAGIC);
+            index.putLong(8, capacity);
+            this.capacity = capacity;
+        } else {
+            this.index = indexChannel.map(mode, 0, indexChannel.size());
+            if (index.getInt(0) != MAGIC) {
+                throw new IOException("Geçersiz index dosyası: " + base);
+            }
+            this.capacity = index.getLong(8);
+            this.size = index.getLong(16);
+            this.dataEnd = index.getLong(24);
+            for (long slot = 0; slot < this.capacity; slot++) {
+                if (slotValue(slot) != EMPTY) {
+                    used++;
+                }
+            }
+        }
+        this.mask = this.capacity - 1;
+    }
+
+    // Yeni ve yazılabilir bir tablo oluşturur. Kapasite, yük oranı 0.5 olacak şekilde 2'nin kuvvetine yuvarlanır.
+    public static MappedStringMap create(Path base, long expectedEntries) throws IOException {
+        long capacity = Long.highestOneBit(Math.max(16, expectedEntries * 2 - 1)) << 1;
+        if (HEADER_SIZE + capacity * Long.BYTES > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Beklenen kayıt sayısı çok büyük: " + expectedEntries);
+        }
+        return new MappedStringMap(base, true, capacity, false);
+    }
+
+    // Var olan bir tabloyu açar. readOnly = true ise Map.of gibi değiştirilemez davranır.
+    public static MappedStringMap open(Path base, boolean readOnly) throws IOException {
+        return new MappedStringMap(base, false, 0, readOnly);
+    }
+
+    // Dosyanın tamamını sayfa önbelleğine getirir (isteğe bağlı, açılıştaki ilk okumaları hızlandırır).
+    public void preload() throws IOException {
+        index.load();
+        for (long offset = 0; offset < dataEnd; offset += SEGMENT_SIZE) {
+            segment(offset).load();
+        }
+    }
+
+    @Override
+    public String get(Object key) {
+        if (!(key instanceof String s)) {
+            return null;
+        }
+        byte[] keyBytes = s.getBytes(StandardCharsets.UTF_8);
+        long slot = findSlot(keyBytes);
+        return slot < 0 ? null : readValue(slotValue(slot) - 1);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof String s && findSlot(s.getBytes(StandardCharsets.UTF_8)) >= 0;
+    }
+
+    @Override
+    public String put(String key, String value) {
+        checkWritable();
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        byte[] valueBytes = value.getBytes(StandardCharsets.UTF_8);
+        long existing = findSlot(keyBytes);
+        if (existing >= 0) {
+            String old = readValue(slotValue(existing) - 1);
+            setSlot(existing, appendRecord(keyBytes, valueBytes) + 1); // Eski kayıt .dat'ta çöp olarak kalır
+            writeHeader(); // dataEnd ilerledi; kaydedilmezse yeniden açılışta sonraki ekleme bu kaydın üzerine yazar
+            return old;
+        }
+        // Kapasite, kayıt eklenmeden önce kontrol edilir; hata durumunda .dat'ta boşa yer harcanmaz.
+        if (used + 1 > capacity * MAX_LOAD) {
+            throw new IllegalStateException("MappedStringMap kapasitesi doldu: " + capacity);
+        }
+        long recordOffset = appendRecord(keyBytes, valueBytes);
+        long slot = hash(keyBytes) & mask;
+        long current;
+        while ((current = slotValue(slot)) != EMPTY && current != TOMBSTONE) {
+            slot = (slot + 1) & mask;
+        }
+        if (current == EMPTY) {
+            used++; // Mezar taşı yeniden kullanılırsa 'used' değişmez
+        }
+        setSlot(slot, recordOffset + 1); // 0 "boş" anlamına geldiği için konum + 1 saklanır
+        size++;
+        writeHeader();
+        return null;
+    }
+
+    @Override
+    public String remove(Object key) {
+        checkWritable();
+        if (!(key instanceof String s)) {
+            return null;
+        }
+        long slot = findSlot(s.getBytes(StandardCharsets.UTF_8));
+        if (slot < 0) {
+            return null;
+        }
+        String old = readValue(slotValue(slot) - 1);
+        setSlot(slot, TOMBSTONE);
+        size--;
+        writeHeader();
+        return old;
+    }
+
+    @Override
+    public int size() {
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public Set<Map.Entry<String, String>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public int size() {
+                return MappedStringMap.this.size();
+            }
+
+            @Override
+            public Iterator<Map.Entry<String, String>> iterator() {
+                return new Iterator<>() {
+                    private long slot = advance(0);
+
+                    private long advance(long from) {
+                        while (from < capacity && (slotValue(from) == EMPTY || slotValue(from) == TOMBSTONE)) {
+                            from++;
+                        }
+                        return from;
+                    }
+
+                    @Override
+                    public boolean hasNext() {
+                        return slot < capacity;
+                    }
+
+                    @Override
+                    public Map.Entry<String, String> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        long offset = slotValue(slot) - 1;
+                        slot = advance(slot + 1);
+                        return Map.entry(readKey(offset), readValue(offset));
+                    }
+                };
+            }
+        };
+    }
+
+    // Değişiklikleri diske yazar (fsync). Yazılmasa bile işletim sistemi sayfaları zamanla diske yazar.
+    public void flush() {
+        if (!readOnly) {
+            index.force();
+            dataSegments.forEach(MappedByteBuffer::force);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        indexChannel.close();
+        dataChannel.close();
+    }
+
+    private long findSlot(byte[] keyBytes) {
+        long slot = hash(keyBytes) & mask;
+        long value;
+        while ((value = slotValue(slot)) != EMPTY) {
+            if (value != TOMBSTONE && keyEquals(value - 1, keyBytes)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private long appendRecord(byte[] keyBytes, byte[] valueBytes) {
+        int length = 2 * Integer.BYTES + keyBytes.length + valueBytes.length;
+        if (dataEnd % SEGMENT_SIZE + length > SEGMENT_SIZE) {
+            dataEnd = (dataEnd / SEGMENT_SIZE + 1) * SEGMENT_SIZE; // Kayıt iki parçaya bölünmesin
+        }
+        long offset = dataEnd;
+        MappedByteBuffer segment = segment(offset);
+        int pos = (int) (offset % SEGMENT_SIZE);
+        segment.putInt(pos, keyBytes.length);
+        segment.putInt(pos + Integer.BYTES, valueBytes.length);
+        segment.put(pos + 2 * Integer.BYTES, keyBytes);
+        segment.put(pos + 2 * Integer.BYTES + keyBytes.length, valueBytes);
+        dataEnd += length;
+        return offset;
+    }
+
+    private boolean keyEquals(long offset, byte[] keyBytes) {
+        MappedByteBuffer segment = segment(offset);
+        int pos = (int) (offset % SEGMENT_SIZE);
+        if (segment.getInt(pos) != keyBytes.length) {
+            return false;
+        }
+        return segment.slice(pos + 2 * Integer.BYTES, keyBytes.length).equals(ByteBuffer.wrap(keyBytes));
+    }
+
+    private String readKey(long offset) {
+        MappedByteBuffer segment = segment(offset);
+        int pos = (int) (offset % SEGMENT_SIZE);
+        byte[] bytes = new byte[segment.getInt(pos)];
+        segment.get(pos + 2 * Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private String readValue(long offset) {
+        MappedByteBuffer segment = segment(offset);
+        int pos = (int) (offset % SEGMENT_SIZE);
+        int keyLength = segment.getInt(pos);
+        byte[] bytes = new byte[segment.getInt(pos + Integer.BYTES)];
+        segment.get(pos + 2 * Integer.BYTES + keyLength, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Veri dosyası 1 GB'lık parçalar halinde, ihtiyaç oldukça eşlenir (yazma modunda dosya kendiliğinden büyür).
+    private MappedByteBuffer segment(long offset) {
+        int i = (int) (offset / SEGMENT_SIZE);
+        try {
+            while (dataSegments.size() <= i) {
+                long start = dataSegments.size() * SEGMENT_SIZE;
+                dataSegments.add(readOnly
+                        ? dataChannel.map(FileChannel.MapMode.READ_ONLY, start,
+                                Math.min(SEGMENT_SIZE, dataChannel.size() - start))
+                        : dataChannel.map(FileChannel.MapMode.READ_WRITE, start, SEGMENT_SIZE));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return dataSegments.get(i);
+    }
+
+    private long slotValue(long slot) {
+        return index.getLong((int) (HEADER_SIZE + slot * Long.BYTES));
+    }
+
+    private void setSlot(long slot, long value) {
+        index.putLong((int) (HEADER_SIZE + slot * Long.BYTES), value);
+    }
+
+    private void writeHeader() {
+        index.putLong(16, size);
+        index.putLong(24, dataEnd);
+    }
+
+    private void checkWritable() {
+        if (readOnly) {
+            throw new UnsupportedOperationException("Salt okunur MappedStringMap değiştirilemez");
+        }
+    }
+
+    // FNV-1a (64 bit) + son karıştırma: UTF-8 byte'ları üzerinden, JVM'den bağımsız ve kalıcı bir hash.
+    // (String.hashCode da sabittir ama UTF-16 üzerinden hesaplanır; burada dosyadaki byte'lar esas alınır.)
+    private static long hash(byte[] bytes) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        return h ^ (h >>> 29);
+    }
+}
+
+// GC duraklaması karşılaştırması: Aynı veriyi HashMap'te ve MappedStringMap'te tutarken tam bir GC'nin
+// süresini ve GC sonrası kullanılan heap'i ölçer. Tam GC, canlı (live) nesne sayısıyla orantılı süre alır.
+// Çalıştırma: java -Xmx8g -XX:+UseG1GC MappedStringMapGcBenchmark 20000000
+class MappedStringMapGcBenchmark {
+    public static void main(String[] args) throws IOException {
+        int entries = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+
+        Map<String, String> heapMap = new HashMap<>();
+        for (int i = 0; i < entries; i++) {
+            heapMap.put("K" + i, "+" + i);
+        }
+        measure("HashMap        ", heapMap);
+        heapMap = null;
+        System.gc();
+
+        Path base = Files.createTempDirectory("mapped-map").resolve("telefonKodlari");
+        try (MappedStringMap mappedMap = MappedStringMap.create(base, entries)) {
+            for (int i = 0; i < entries; i++) {
+                mappedMap.put("K" + i, "+" + i);
+            }
+            measure("MappedStringMap", mappedMap);
+        }
+        // Yeniden başlatma simülasyonu: Aynı dosya salt okunur açılır ve veri hemen kullanılabilir.
+        try (MappedStringMap reopened = MappedStringMap.open(base, true)) {
+            System.out.println("Yeniden açıldı, K42 = " + reopened.get("K42") + ", kayıt: " + reopened.size());
+        }
+    }
+
+    private static void measure(String ad, Map<String, String> map) {
+        long gcTimeBefore = totalGcTimeMs();
+        long start = System.nanoTime();
+        System.gc(); // Tam GC: tüm canlı nesneler gezilir
+        long pauseMs = (System.nanoTime() - start) / 1_000_000;
+        long usedMb = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed() / (1024 * 1024);
+        System.out.println(ad + ": " + map.size() + " kayıt, tam GC " + pauseMs + " ms (GC MXBean: "
+                + (totalGcTimeMs() - gcTimeBefore) + " ms), heap " + usedMb + " MB");
+    }
+
+    private static long totalGcTimeMs() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += gc.getCollectionTime();
+        }
+        return total;
+    }
+}
+
+// --- Büyük ve Değişmez (Frozen) Veri Setleri için Kompakt Koleksiyonlar ---
+// List.of / Set.of / Map.of küçük boyutlar için tasarlanmıştır: Set.of ve Map.of elemanları 2 katı boyutlu
+// bir dizide doğrusal arama (linear probing) ile tutar; büyük veri setlerinde hem bellek hem de çakışma
+// zincirleri büyür. Uygulama açılışında bir kez yüklenip sonra hiç değişmeyen büyük referans verileri
+// (ülke kodları, ürün kategorileri) için iki alternatif:
+// 1) Mükemmel hash (perfect hash) tabanlı: Kurulum sırasında her anahtara çakışmasız bir hücre bulunur
+//    (hash-and-displace / CHD yöntemi). Aramada tek bir hücreye bakılır ve tek bir equals çağrılır;
+//    çakışma zinciri ve döngü yoktur. Tablo, eleman sayısının ~%3 fazlasıdır (Set.of'ta 2 katı).
+// 2) Sıralı dizi tabanlı: Elemanlar sıralı bir dizide tutulur (eleman başına tek referans, en az bellek)
+//    ve dallanmasız (branch-free) ikili arama ile bulunur. Sıralı gezinme de bedavadır.
+// Her ikisi de değişmezdir: add/put/remove UnsupportedOperationException fırlatır (Map.of gibi).
+final class FrozenCollections {
+    private FrozenCollections() {}
+
+    public static <T> Set<T> setOf(Collection<? extends T> elements) {
+        Object[] keys = new LinkedHashSet<>(elements).toArray(); // Tekrarlar atılır (Set.copyOf gibi)
+        for (Object key : keys) {
+            Objects.requireNonNull(key, "null eleman desteklenmez");
+        }
+        return new FrozenHashSet<>(new FrozenHashTable(keys, null)); // Küme: değer dizisi tutulmaz
+    }
+
+    public static <K, V> Map<K, V> mapOf(Map<? extends K, ? extends V> map) {
+        Object[] keys = new Object[map.size()];
+        Object[] values = new Object[map.size()];
+        int i = 0;
+        for (Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            keys[i] = Objects.requireNonNull(entry.getKey(), "null anahtar desteklenmez");
+            values[i] = Objects.requireNonNull(entry.getValue(), "null değer desteklenmez");
+            i++;
+        }
+        return new FrozenHashMap<>(new FrozenHashTable(keys, values));
+    }
+
+    public static <T extends Comparable<? super T>> Set<T> sortedSetOf(Collection<? extends T> elements) {
+        TreeSet<T> sorted = new TreeSet<>(elements);
+        return new FrozenSortedSet<>(sorted.toArray());
+    }
+
+    public static <K extends Comparable<? super K>, V> Map<K, V> sortedMapOf(Map<? extends K, ? extends V> map) {
+        TreeMap<K, V> sorted = new TreeMap<>(map);
+        Object[] keys = sorted.keySet().toArray();
+        Object[] values = sorted.values().toArray();
+        return new FrozenSortedMap<>(keys, values);
+    }
+
+    // Dallanmasız alt sınır (lower bound) araması: Döngü her zaman log2(n) adım sürer ve içindeki koşul
+    // bir atama olduğu için JIT bunu koşullu taşıma (cmov) komutuna çevirebilir; dal tahmini hatası olmaz.
+    @SuppressWarnings("unchecked")
+    static int sortedIndexOf(Object[] sorted, Object key) {
+        int n = sorted.length;
+        if (n == 0) {
+            return -1;
+        }
+        Comparable<Object> target = (Comparable<Object>) key;
+        int base = 0;
+        while (n > 1) {
+            int half = n >>> 1;
+            base = target.compareTo(sorted[base + half]) >= 0 ? base + half : base;
+            n -= half;
+        }
+        return target.compareTo(sorted[base]) == 0 ? base : -1;
+    }
+}
+
+// Mükemmel hash tablosu (FrozenHashSet ve FrozenHashMap ortak kullanır).
+// Anahtarlar ortalama 4'erli kovalara (bucket) dağıtılır. En kalabalık kovadan başlanarak her kova için,
+// kovadaki tüm anahtarları boş ve birbirinden farklı hücrelere gönderen bir 'seed' aranır ve saklanır.
+// Arama: kova = h(anahtar, 0), hücre = h(anahtar, seeds[kova]) -> tek hücre, tek karşılaştırma.
+// hashCode'u birebir aynı olan farklı anahtarlar hiçbir seed ile ayrılamaz; bunlar (çok nadir) küçük bir
+// taşma (overflow) map'inde tutulur.
+// Kümelerde (FrozenHashSet) inputValues null verilir ve 'values' dizisi hiç oluşturulmaz.
+final class FrozenHashTable {
+    private static final int BUCKET_SIZE = 4;
+    private static final int MAX_SEED = 1 << 24;
+
+    final Object[] keys;
+    final Object[] values;                 // Kümelerde null
+    final Map<Object, Object> overflow; // Boşsa null
+    private final int[] seeds;
+    final int size;
+
+    FrozenHashTable(Object[] inputKeys, Object[] inputValues) {
+        // hashCode'u aynı olan anahtarlardan ilki tabloya, diğerleri taşma map'ine gider.
+        Map<Integer, Boolean> seenHashes = new HashMap<>();
+        List<Integer> primary = new ArrayList<>(inputKeys.length);
+        Map<Object, Object> overflowMap = new HashMap<>();
+        for (int i = 0; i < inputKeys.length; i++) {
+            if (seenHashes.putIfAbsent(inputKeys[i].hashCode(), Boolean.TRUE) == null) {
+                primary.add(i);
+            } else {
+                overflowMap.put(inputKeys[i], inputValues == null ? null : inputValues[i]);
+            }
+        }
+        int n = primary.size();
+        int tableSize = n == 0 ? 0 : n + n / 32 + 1; // ~%97 doluluk: son kovalar da hızlıca yer bulur
+        int bucketCount = Math.max(1, (n + BUCKET_SIZE - 1) / BUCKET_SIZE);
+        this.keys = new Object[tableSize];
+        this.values = inputValues == null ? null : new Object[tableSize];
+        this.seeds = new int[bucketCount];
+        this.overflow = overflowMap.isEmpty() ? null : Collections.unmodifiableMap(overflowMap);
+        this.size = inputKeys.length;
+
+        // Anahtarları kovalara grupla (counting sort).
+        int[] bucketStart = new int[bucketCount + 1];
+        int[] hashes = new int[n];
+        for (int i = 0; i < n; i++) {
+            hashes[i] = inputKeys[primary.get(i)].hashCode();
+            bucketStart[reduce(mix(hashes[i], 0), bucketCount) + 1]++;
+        }
+        for (int b = 0; b < bucketCount; b++) {
+            bucketStart[b + 1] += bucketStart[b];
+        }
+        int[] members = new int[n];
+        int[] fill = Arrays.copyOf(bucketStart, bucketCount);
+        for (int i = 0; i < n; i++) {
+            members[fill[reduce(mix(hashes[i], 0), bucketCount)]++] = i;
+        }
+
+        // En kalabalık kovadan başlayarak her kovaya bir seed bul.
+        Integer[] order = new Integer[bucketCount];
+        for (int b = 0; b < bucketCount; b++) {
+            order[b] = b;
+        }
+        Arrays.sort(order, (a, b) -> (bucketStart[b + 1] - bucketStart[b]) - (bucketStart[a + 1] - bucketStart[a]));
+        boolean[] taken = new boolean[tableSize];
+        int[] slots = new int[n == 0 ? 0 : BUCKET_SIZE * 8];
+        for (int b : order) {
+            int from = bucketStart[b];
+            int count = bucketStart[b + 1] - from;
+            if (count == 0) {
+                continue;
+            }
+            if (count > slots.length) {
+                slots = new int[count];
+            }
+            for (int seed = 1; ; seed++) {
+                if (seed > MAX_SEED) {
+                    throw new IllegalStateException("Mükemmel hash kurulamadı, kova boyutu: " + count);
+                }
+                boolean ok = true;
+                for (int j = 0; j < count && ok; j++) {
+                    int slot = reduce(mix(hashes[members[from + j]], seed), tableSize);
+                    ok = !taken[slot];
+                    for (int k = 0; k < j && ok; k++) {
+                        ok = slots[k] != slot;
+                    }
+                    slots[j] = slot;
+                }
+                if (ok) {
+                    for (int j = 0; j < count; j++) {
+                        int input = primary.get(members[from + j]);
+                        taken[slots[j]] = true;
+                        keys[slots[j]] = inputKeys[input];
+                        if (values != null) {
+                            values[slots[j]] = inputValues[input];
+                        }
+                    }
+                    seeds[b] = seed;
+                    break;
+                }
+            }
+        }
+    }
+
+    // Anahtarın tablodaki hücresini döndürür, yoksa -1 (taşma map'i ayrıca kontrol edilir).
+    int indexOf(Object key) {
+        if (keys.length == 0) {
+            return -1;
+        }
+        int h = key.hashCode();
+        int slot = reduce(mix(h, seeds[reduce(mix(h, 0), seeds.length)]), keys.length);
+        return key.equals(keys[slot]) ? slot : -1;
+    }
+
+    // Dolu hücreler, ardından taşma map'inin kayıtları üzerinde gezinir; kopya oluşturmaz.
+    // 'toElement' hücrenin (anahtar, değer) çiftinden döndürülecek elemanı üretir (kümede değer null'dır).
+    <E> Iterator<E> iterator(BiFunction<Object, Object, E> toElement) {
+        return new Iterator<>() {
+            private int next = skipEmpty(0);
+            private Iterator<Map.Entry<Object, Object>> overflowEntries;
+
+            @Override
+            public boolean hasNext() {
+                if (next < keys.length) {
+                    return true;
+                }
+                if (overflow == null) {
+                    return false;
+                }
+                if (overflowEntries == null) {
+                    overflowEntries = overflow.entrySet().iterator();
+                }
+                return overflowEntries.hasNext();
+            }
+
+            @Override
+            public E next() {
+                if (next < keys.length) {
+                    int slot = next;
+                    next = skipEmpty(slot + 1);
+                    return toElement.apply(keys[slot], values == null ? null : values[slot]);
+                }
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Map.Entry<Object, Object> entry = overflowEntries.next();
+                return toElement.apply(entry.getKey(), entry.getValue());
+            }
+        };
+    }
+
+    private int skipEmpty(int slot) {
+        while (slot < keys.length && keys[slot] == null) {
+            slot++;
+        }
+        return slot;
+    }
+
+    private static int mix(int h, int seed) {
+        int x = h ^ (seed * 0x9E3779B9);
+        x ^= x >>> 16;
+        x *= 0x85EBCA6B;
+        x ^= x >>> 13;
+        x *= 0xC2B2AE35;
+        return x ^ (x >>> 16);
+    }
+
+    // Bölme (%) yerine çarp-kaydır ile [0, n) aralığına indirgeme.
+    private static int reduce(int x, int n) {
+        return (int) (((x & 0xFFFFFFFFL) * n) >>> 32);
+    }
+}
+
+final class FrozenHashSet<T> extends AbstractSet<T> {
+    private final FrozenHashTable table;
+
+    FrozenHashSet(FrozenHashTable table) {
+        this.table = table;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o != null && (table.indexOf(o) >= 0 || (table.overflow != null && table.overflow.containsKey(o)));
+    }
+
+    @Override
+    public int size() {
+        return table.size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Iterator<T> iterator() {
+        return table.iterator((key, value) -> (T) key);
+    }
+}
+
+final class FrozenHashMap<K, V> extends AbstractMap<K, V> {
+    private final FrozenHashTable table;
+
+    FrozenHashMap(FrozenHashTable table) {
+        this.table = table;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        if (key == null) {
+            return null;
+        }
+        int slot = table.indexOf(key);
+        if (slot >= 0) {
+            return (V) table.values[slot];
+        }
+        return table.overflow == null ? null : (V) table.overflow.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null; // null değer kabul edilmediği için yeterli
+    }
+
+    @Override
+    public int size() {
+        return table.size;
+    }
+
+    // Dizilerin üzerinde bir görünüm (view): Her çağrıda kopya oluşturulmaz, Map.Entry'ler gezinirken üretilir.
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return table.iterator((key, value) -> Map.entry((K) key, (V) value));
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return o instanceof Map.Entry<?, ?> entry && entry.getValue() != null
+                        && entry.getValue().equals(get(entry.getKey()));
+            }
+
+            @Override
+            public int size() {
+                return table.size;
+            }
+        };
+    }
+}
+
+final class FrozenSortedSet<T> extends AbstractSet<T> {
+    private final Object[] sorted;
+
+    FrozenSortedSet(Object[] sorted) {
+        this.sorted = sorted;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o != null && FrozenCollections.sortedIndexOf(sorted, o) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return sorted.length;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Iterator<T> iterator() {
+        return (Iterator<T>) Collections.unmodifiableList(Arrays.asList(sorted)).iterator(); // Sıralı gezinme
+    }
+}
+
+final class FrozenSortedMap<K, V> extends AbstractMap<K, V> {
+    private final Object[] keys;
+    private final Object[] values;
+
+    FrozenSortedMap(Object[] keys, Object[] values) {
+        this.keys = keys;
+        this.values = values;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        if (key == null) {
+            return null;
+        }
+        int index = FrozenCollections.sortedIndexOf(keys, key);
+        return index < 0 ? null : (V) values[index];
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key != null && FrozenCollections.sortedIndexOf(keys, key) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return keys.length;
+    }
+
+    // Sıralı diziler üzerinde bir görünüm (view): Kopya yok, gezinme anahtar sırasındadır.
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return new Iterator<>() {
+                    private int next;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < keys.length;
+                    }
+
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public Map.Entry<K, V> next() {
+                        if (next >= keys.length) {
+                            throw new NoSuchElementException();
+                        }
+                        int i = next++;
+                        return Map.entry((K) keys[i], (V) values[i]);
+                    }
+                };
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return o instanceof Map.Entry<?, ?> entry && entry.getValue() != null
+                        && entry.getValue().equals(get(entry.getKey()));
+            }
+
+            @Override
+            public int size() {
+                return keys.length;
+            }
+        };
+    }
+}
+
+// Frozen koleksiyonlar ile JDK değişmez koleksiyonlarının arama hızı karşılaştırması.
+// Çalıştırma: java -jar target/benchmarks.jar FrozenCollectionsBenchmark
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FrozenCollectionsBenchmark {
+    @Param({"10000", "100000", "1000000"})
+    int size;
+
+    Set<String> jdkSet;
+    Set<String> frozenSet;
+    Set<String> sortedSet;
+    Map<String, String> jdkMap;
+    Map<String, String> frozenMap;
+    Map<String, String> sortedMap;
+    String[] lookups;
+    int cursor;
+
+    @Setup
+    public void setup() {
+        List<String> keys = new ArrayList<>(size);
+        Map<String, String> source = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            keys.add("KOD-" + i);
+            source.put("KOD-" + i, "Kategori " + i);
+        }
+        jdkSet = Set.copyOf(keys); // Set.of ile aynı iç yapı
+        frozenSet = FrozenCollections.setOf(keys);
+        sortedSet = FrozenCollections.sortedSetOf(keys);
+        jdkMap = Map.copyOf(source);
+        frozenMap = FrozenCollections.mapOf(source);
+        sortedMap = FrozenCollections.sortedMapOf(source);
+        Random random = new Random(42);
+        lookups = new String[1024];
+        for (int i = 0; i < lookups.length; i++) {
+            // Yarısı var olan, yarısı olmayan anahtarlar
+            lookups[i] = i % 2 == 0 ? "KOD-" + random.nextInt(size) : "YOK-" + random.nextInt(size);
+        }
+    }
+
+    private String nextKey() {
+        return lookups[cursor++ & (lookups.length - 1)];
+    }
+
+    @Benchmark
+    public boolean jdkSetContains() {
+        return jdkSet.contains(nextKey());
+    }
+
+    @Benchmark
+    public boolean frozenSetContains() {
+        return frozenSet.contains(nextKey());
+    }
+
+    @Benchmark
+    public boolean sortedSetContains() {
+        return sortedSet.contains(nextKey());
+    }
+
+    @Benchmark
+    public String jdkMapGet() {
+        return jdkMap.get(nextKey());
+    }
+
+    @Benchmark
+    public String frozenMapGet() {
+        return frozenMap.get(nextKey());
+    }
+
+    @Benchmark
+    public String sortedMapGet() {
+        return sortedMap.get(nextKey());
+    }
+}
+
+// Bellek karşılaştırması: Anahtar String'leri tüm yapılarda ortak olduğu için sadece kapsayıcının
+// kendi boyutu (GraphLayout toplamından anahtarların boyutu çıkarılarak) yazdırılır.
+class FrozenCollectionsFootprint {
+    public static void main(String[] args) {
+        int size = 1_000_000;
+        List<String> keys = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            keys.add("KOD-" + i);
+        }
+        long keysSize = GraphLayout.parseInstance(keys.toArray()).totalSize();
+        System.out.println("Set.copyOf:               " + (GraphLayout.parseInstance(Set.copyOf(keys)).totalSize() - keysSize) / 1024 + " KB");
+        System.out.println("FrozenCollections.setOf:  " + (GraphLayout.parseInstance(FrozenCollections.setOf(keys)).totalSize() - keysSize) / 1024 + " KB");
+        System.out.println("FrozenCollections.sorted: " + (GraphLayout.parseInstance(FrozenCollections.sortedSetOf(keys)).totalSize() - keysSize) / 1024 + " KB");
+    }
+}
+
+// --- Çok İş Parçacıklı (Concurrent) Erişim: Şeritli (Striped) Map ve Set ---
+// HashMap/HashSet thread-safe değildir: Aynı anda iki thread 'put' yaparsa yeniden boyutlandırma (resize)
+// sırasında elemanlar kaybolabilir. Collections.synchronizedMap tüm map'i TEK bir kilitle korur; 64 thread
+// aynı kilit için sıraya girer. Şeritleme (lock striping): Map, her biri kendi kilidine sahip N bağımsız
+// alt map'e (şerit) bölünür; farklı şeritlere düşen anahtarlar birbirini hiç beklemez.
+// - get: Şeridin okuma kilidi (okuyucular birbirini engellemez).
+// - compute/merge/computeIfAbsent/putIfAbsent: Şeridin yazma kilidi altında TEK hash araması ile atomik
+//   çalışır. ConcurrentMap'in varsayılan compute/merge implementasyonu get + putIfAbsent/replace döngüsüdür
+//   (çekişmede tekrar tekrar dener); burada döngü yoktur.
+// - Set: Collections.newSetFromMap(new StripedMap<>()) ile aynı şeritleme Set API'siyle kullanılır.
+// Not: ConcurrentHashMap okumalarda hiç kilit almaz (lock-free) ve çoğu durumda ilk tercihtir. StripedMap,
+// şerit sayısının ve iç map tipinin (örn. ileride primitive map) kontrol edilmek istendiği durumlar için
+// ve ölçüm karşılaştırması içindir. Sayaç gibi yoğun 'merge(k, 1L, Long::sum)' kullanımlarında
+// ConcurrentHashMap<K, LongAdder> daha da iyi ölçeklenir.
+// Kural (ConcurrentHashMap ile aynı): compute/merge'e verilen fonksiyon aynı map'i değiştirmemelidir.
+final class StripedMap<K, V> extends AbstractMap<K, V> implements ConcurrentMap<K, V> {
+    private final HashMap<K, V>[] stripes;
+    private final StampedLock[] locks;
+    private final int shift;
+
+    public StripedMap() {
+        this(Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    @SuppressWarnings("unchecked")
+    public StripedMap(int concurrencyLevel) {
+        int count = Integer.highestOneBit(Math.max(2, concurrencyLevel - 1) << 1); // 2'nin kuvveti
+        this.stripes = (HashMap<K, V>[]) new HashMap<?, ?>[count]; // Generic dizi oluşturulamaz; wildcard dizi + cast
+        this.locks = new StampedLock[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new HashMap<>();
+            locks[i] = new StampedLock();
+        }
+        this.shift = 32 - Integer.numberOfTrailingZeros(count);
+    }
+
+    // Şerit seçimi hash'in ÜST bitleriyle yapılır; iç HashMap kovaları alt bitleri kullandığı için
+    // aynı şeritteki anahtarlar iç map'te kümelenmez.
+    private int stripeOf(Object key) {
+        return (key.hashCode() * 0x9E3779B9) >>> shift;
+    }
+
+    @Override
+    public V get(Object key) {
+        int i = stripeOf(key);
+        long stamp = locks[i].readLock();
+        try {
+            return stripes[i].get(key);
+        } finally {
+            locks[i].unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null; // null değer kabul edilmez (ConcurrentHashMap gibi)
+    }
+
+    @Override
+    public V put(K key, V value) {
+        Objects.requireNonNull(value);
+        int i = stripeOf(key);
+        long stamp = locks[i].writeLock();
+        try {
+            return stripes[i].put(key, value);
+        } finally {
+            locks[i].unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public V remove(Object key) {
+        int i = stripeOf(key);
+        long stamp = locks[i].writeLock();
+        try {
+            return stripes[i].remove(key);
+        } finally {
+            locks[i].unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        Objects.requireNonNull(value);
+        int i = stripeOf(key);
+        long stamp = locks[i].writeLock();
+        try {
+            return stripes[i].putIfAbsent(key, value);
+        } finally {
+            locks[i].unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        int i = stripeOf(key);
+        long stamp = locks[i].writeLock();
+        try {
+            return stripes[i].remove(key, value);
+        } finally {
+            locks[i].unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean replace(K key, V oldValue, V newValue) {
+        Objects.requireNonNull(newValue);
+        int i = stripeOf(key);
+        long stamp = locks[i].writeLock();
+        try {
+            return stripes[i].replace(key, oldValue, newValue);
+        } finally {
+            locks[i].unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public V replace(K key, V value) {
+        Objects.requireNonNull(value);
+        int i = stripeOf(key);
+        long stamp = locks[i].writeLock();
+        try {
+            return stripes[i].replace(key, value);
+        } finally {
+            locks[i].unlockWrite(stamp);
+        }
+    }
+
+    // Hızlı yol: Anahtar zaten varsa sadece okuma kilidi alınır; yazma kilidi yalnızca ilk eklemede alınır.
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        V existing = get(key);
+        if (existing != null) {
+            return existing;
+        }
+        int i = stripeOf(key);
+        long stamp = locks[i].writeLock();
+        try {
+            return stripes[i].computeIfAbsent(key, mappingFunction);
+        } finally {
+            locks[i].unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        int i = stripeOf(key);
+        long stamp = locks[i].writeLock();
+        try {
+            return stripes[i].computeIfPresent(key, remappingFunction);
+        } finally {
+            locks[i].unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        int i = stripeOf(key);
+        long stamp = locks[i].writeLock();
+        try {
+            return stripes[i].compute(key, remappingFunction);
+        } finally {
+            locks[i].unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        Objects.requireNonNull(value);
+        int i = stripeOf(key);
+        long stamp = locks[i].writeLock();
+        try {
+            return stripes[i].merge(key, value, remappingFunction);
+        } finally {
+            locks[i].unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public int size() {
+        long total = 0;
+        for (int i = 0; i < stripes.length; i++) {
+            long stamp = locks[i].readLock();
+            try {
+                total += stripes[i].size();
+            } finally {
+                locks[i].unlockRead(stamp);
+            }
+        }
+        return (int) Math.min(total, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < stripes.length; i++) {
+            long stamp = locks[i].writeLock();
+            try {
+                stripes[i].clear();
+            } finally {
+                locks[i].unlockWrite(stamp);
+            }
+        }
+    }
+
+    // Gezinme şerit şerit alınan anlık görüntü (snapshot) üzerinden yapılır: ConcurrentModificationException
+    // fırlatmaz, gezinme sırasında yapılan değişiklikleri göstermeyebilir (weakly consistent).
+    // Iterator.remove ve Entry.setValue map'e yansıtılır.
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                List<Map.Entry<K, V>> snapshot = new ArrayList<>();
+                for (int i = 0; i < stripes.length; i++) {
+                    long stamp = locks[i].readLock();
+                    try {
+                        for (Map.Entry<K, V> entry : stripes[i].entrySet()) {
+                            snapshot.add(new SimpleEntry<>(entry.getKey(), entry.getValue()) {
+                                @Override
+                                public V setValue(V value) {
+                                    put(getKey(), value);
+                                    return super.setValue(value);
+                                }
+                            });
+                        }
+                    } finally {
+                        locks[i].unlockRead(stamp);
+                    }
+                }
+                Iterator<Map.Entry<K, V>> it = snapshot.iterator();
+                return new Iterator<>() {
+                    private Map.Entry<K, V> last;
+
+                    @Override
+                    public boolean hasNext() {
+                        return it.hasNext();
+                    }
+
+                    @Override
+                    public Map.Entry<K, V> next() {
+                        return last = it.next();
+                    }
+
+                    @Override
+                    public void remove() {
+                        if (last == null) {
+                            throw new IllegalStateException();
+                        }
+                        StripedMap.this.remove(last.getKey(), last.getValue());
+                        last = null;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return StripedMap.this.size();
+            }
+        };
+    }
+}
+
+// Paylaşılan map'e 1..64 thread ile eşzamanlı erişim ölçümü. Tüm thread'ler aynı map örneğini kullanır
+// (Scope.Benchmark). Karışım: %90 okuma (get) + %10 yazma, ayrıca sayaç (merge) ve önbellek
+// (computeIfAbsent) kullanım desenleri.
+// Thread sayısı JMH'de @Param ile verilemediği için ConcurrentMapBenchmarkRunner her sayı için ayrı koşturur.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentMapBenchmark {
+    private static final int KEY_COUNT = 1 << 16;
+
+    @Param({"synchronizedMap", "ConcurrentHashMap", "StripedMap"})
+    String impl;
+
+    Map<Integer, Long> map;
+    Integer[] keys;
+
+    @Setup
+    public void setup() {
+        map = switch (impl) {
+            case "synchronizedMap" -> Collections.synchronizedMap(new HashMap<>());
+            case "ConcurrentHashMap" -> new ConcurrentHashMap<>();
+            case "StripedMap" -> new StripedMap<>();
+            default -> throw new IllegalArgumentException(impl);
+        };
+        keys = new Integer[KEY_COUNT];
+        for (int i = 0; i < KEY_COUNT; i++) {
+            keys[i] = i;
+            map.put(i, 0L);
+        }
+    }
+
+    // Her thread kendi rastgele sırasını üretir; thread'ler arası paylaşılan bir sayaç ölçümü bozardı.
+    @State(Scope.Thread)
+    public static class ThreadCursor {
+        int next = ThreadLocalRandom.current().nextInt();
+
+        int nextIndex() {
+            next = next * 1103515245 + 12345;
+            return (next >>> 8) & (KEY_COUNT - 1);
+        }
+    }
+
+    @Benchmark
+    public Long readMostly(ThreadCursor cursor) {
+        int index = cursor.nextIndex();
+        Integer key = keys[index];
+        if (index % 10 != 0) { // %90 okuma, %10 yazma (index düzgün dağılımlı)
+            return map.get(key);
+        }
+        return map.put(key, (long) index);
+    }
+
+    @Benchmark
+    public Long mergeCounter(ThreadCursor cursor) {
+        return map.merge(keys[cursor.nextIndex()], 1L, Long::sum);
+    }
+
+    @Benchmark
+    public Long computeIfAbsentHit(ThreadCursor cursor) {
+        return map.computeIfAbsent(keys[cursor.nextIndex()], k -> 0L);
+    }
+}
+
+class ConcurrentMapBenchmarkRunner {
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : new int[]{1, 2, 4, 8, 16, 32, 64}) {
+            Options options = new OptionsBuilder()
+                    .include("ConcurrentMapBenchmark")
+                    .threads(threads)
+                    .resultFormat(ResultFormatType.CSV)
+                    .result("concurrent-map-" + threads + "-threads.csv")
+                    .build();
+            new Runner(options).run();
+        }
     }
 }
\ No newline at end of file
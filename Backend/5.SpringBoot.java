@@ -7,9 +7,82 @@
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+// Toplu yükleme (batch) endpoint'i için Jackson streaming API ve Servlet import'ları
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Hızlı JSON serileştirme modu için Jackson import'ları
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import java.io.OutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Service;
+import org.springframework.context.annotation.Primary;
+import org.springframework.beans.factory.annotation.Qualifier;
+import java.time.Duration;
+import java.time.Instant;
+import org.springframework.http.CacheControl;
+import org.springframework.web.context.request.WebRequest;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+
+// Reaktif yığın (WebFlux, Reactor, R2DBC) import'ları
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import org.springframework.web.server.ResponseStatusException;
+
+// Önbellek (Caffeine) ve metrik (Micrometer) import'ları
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+// JMH (Java Microbenchmark Harness) annotation'ları
+import org.openjdk.jmh.annotations.*;
 
 // Lombok kütüphanesi için import'lar (gerçek bir dosyada gereklidir)
 import lombok.Data;
@@ -20,6 +93,7 @@ import lombok.AllArgsConstructor;
 // --- Ana Dosya ve Annotationlar ---
 // Uygulamanın başlangıç noktasıdır. main metodu, Spring uygulamasını bootstrap eder.
 @SpringBootApplication // @Configuration, @EnableAutoConfiguration ve @ComponentScan'i birleştirir.
+@EnableAsync // @Async metotları bir TaskExecutor üzerinde çalıştırır (sanal thread modunda her iş bir sanal thread'dir).
 public class DemoApplication {
     public static void main(String[] args) {
         // Spring uygulamasını başlatır.
@@ -39,35 +113,294 @@ public class DemoApplication {
  */
 
 
+// --- Sanal Thread (Virtual Thread) Çalışma Modu (Java 21+, Spring Boot 3.2+) ---
+/*
+ * Klasik Tomcat modelinde her istek bir platform (işletim sistemi) thread'i kullanır ve varsayılan havuz
+ * 200 thread'dir. ProductController istekleri zamanının çoğunu veritabanını bekleyerek geçirdiği için,
+ * CPU boştayken bile 201. istek kuyrukta bekler.
+ * Sanal thread'ler JVM tarafından yönetilen çok hafif thread'lerdir; bloklayan bir I/O çağrısında
+ * (JDBC, HTTP) taşıyıcı (carrier) platform thread'ini bırakırlar. Böylece kod bloklayan (klasik) şekilde
+ * yazılmaya devam eder ama on binlerce eşzamanlı istek karşılanabilir.
+ *
+ * Modu açıp kapatmak için tek bir ayar yeterlidir (application.properties):
+ * spring.threads.virtual.enabled=true
+ * Kod değişmeden komut satırından da seçilebilir:
+ * java -jar demo.jar --spring.threads.virtual.enabled=false   # Klasik: 200 platform thread'i
+ * java -jar demo.jar --spring.threads.virtual.enabled=true    # Sanal thread'ler
+ *
+ * Bu ayar açıkken Spring Boot:
+ * - Tomcat'in istek thread'lerini sanal thread'lerle değiştirir (ProductController ve ProductService
+ *   çağrıları sanal thread'de çalışır).
+ * - @Async ve @Scheduled işleri için sanal thread kullanan bir SimpleAsyncTaskExecutor tanımlar.
+ *
+ * JDBC Havuzu: Artık eşzamanlılığı thread havuzu değil, bağlantı havuzu sınırlar. Binlerce sanal thread
+ * aynı anda bağlantı isteyebileceği için havuz, veritabanının kaldırabileceği kadar boyutlandırılır ve
+ * bekleme süresi sınırlanır (bağlantı alamayan istek uzun süre asılı kalmamalıdır):
+ * spring.datasource.hikari.maximum-pool-size=50
+ * spring.datasource.hikari.connection-timeout=2000
+ *
+ * Dikkat: Java 21-23'te synchronized blok içinde bloklayan çağrı yapan sanal thread, taşıyıcı thread'e
+ * "sabitlenir" (pinning). Uzun süren kritik bölgelerde synchronized yerine ReentrantLock tercih edilmelidir.
+ * Sabitlenmeleri görmek için: -Djdk.tracePinnedThreads=short (Java 21-23)
+ */
+
+// Açılışta hangi modun etkin olduğunu yazdırır; yük testi sonuçları karşılaştırılırken modun gerçekten
+// değiştiği buradan doğrulanır.
+@Component
+class ExecutionModeReporter {
+    private final boolean virtualThreads;
+
+    public ExecutionModeReporter(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void report() {
+        System.out.println("Çalışma modu: " + (virtualThreads
+                ? "sanal thread'ler (spring.threads.virtual.enabled=true)"
+                : "platform thread havuzu (spring.threads.virtual.enabled=false)"));
+    }
+}
+
+// Yük testi aracı: Hedef URL'e 'eşzamanlılık' kadar istemciyi aynı anda çalıştırır, saniyedeki istek
+// sayısını ve p50/p99 gecikmeyi yazdırır. Gecikme yüzdelikleri sadece başarılı (200) isteklerden hesaplanır;
+// hata veren istekler (örn. hemen dönen bağlantı hataları) ayrı tutulur, yoksa yüzdelikleri aşağı çekerler.
+// Uygulama H2 ile bir kez spring.threads.virtual.enabled=false,
+// bir kez true ile başlatılıp aynı parametrelerle çalıştırılarak iki mod karşılaştırılır.
+// Örn: java LoadTestHarness http://localhost:8080/api/v1/products/1 1000 30
+class LoadTestHarness {
+    public static void main(String[] args) throws Exception {
+        URI uri = URI.create(args[0]);
+        int eszamanlilik = Integer.parseInt(args[1]);
+        Duration sure = Duration.ofSeconds(Long.parseLong(args[2]));
+
+        HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+        HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+        ConcurrentLinkedQueue<Long> gecikmeler = new ConcurrentLinkedQueue<>();     // Başarılı istekler, nanosaniye
+        ConcurrentLinkedQueue<Long> hataGecikmeleri = new ConcurrentLinkedQueue<>(); // Hatalı istekler, nanosaniye
+        long bitis = System.nanoTime() + sure.toNanos();
+
+        // İstemci tarafında da sanal thread kullanılır, böylece test aracı kendisi darboğaz olmaz.
+        try (ExecutorService istemciler = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < eszamanlilik; i++) {
+                istemciler.submit(() -> {
+                    while (System.nanoTime() < bitis) {
+                        long start = System.nanoTime();
+                        boolean basarili;
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            basarili = response.statusCode() == 200;
+                        } catch (Exception e) {
+                            basarili = false;
+                        }
+                        (basarili ? gecikmeler : hataGecikmeleri).add(System.nanoTime() - start);
+                    }
+                    return null;
+                });
+            }
+        } // close(): tüm istemcilerin bitmesini bekler
+
+        long[] sirali = gecikmeler.stream().mapToLong(Long::longValue).sorted().toArray();
+        System.out.println("Başarılı istek: " + sirali.length + ", hata: " + hataGecikmeleri.size()
+                + ", başarılı istek/sn: " + (sirali.length / sure.toSeconds()));
+        if (sirali.length == 0) {
+            System.out.println("0 başarılı istek: Sunucu çalışıyor mu ve URL doğru mu? (" + uri + ")");
+            return;
+        }
+        System.out.println("p50: " + sirali[sirali.length / 2] / 1_000_000 + " ms, p99: "
+                + sirali[(int) (sirali.length * 0.99)] / 1_000_000 + " ms");
+    }
+}
+
+
 // --- REST Controller ---
 // Web isteklerini (HTTP) karşılayan ve yanıtlayan sınıflardır. Genellikle JSON/XML gibi veri formatlarını döndürürler.
 @RestController
+@Profile("!reactive") // 'reactive' profilinde aynı yolları ReactiveProductController karşılar.
 @RequestMapping("/api/v1/products") // Bu controller'daki tüm endpoint'ler bu yolla başlar.
 public class ProductController {
 
     // ProductService bağımlılığı. Bu, Spring tarafından enjekte edilecektir.
     private final ProductService productService;
+    private final ObjectMapper objectMapper; // Spring Boot'un otomatik yapılandırdığı Jackson ObjectMapper'ı
+    private final int batchSize;             // Toplu yüklemede tek seferde saveAll'a gönderilecek ürün sayısı
 
     // Constructor Injection: Bağımlılıkları enjekte etmenin en iyi yolu.
     // @Autowired annotation'ı, Spring'in bu constructor'ı kullanarak bağımlılığı sağlamasını söyler.
+    // @Value: application.properties'teki 'product.batch.size' değerini okur, yoksa 500 kullanılır.
     @Autowired
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService,
+                             ObjectMapper objectMapper,
+                             @Value("${product.batch.size:500}") int batchSize) {
         this.productService = productService;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
     }
 
     // HTTP GET isteği -> /api/v1/products/{id}
+    // Koşullu GET (Conditional GET): Yanıtla birlikte ürünün sürümünden üretilen bir ETag ve Last-Modified
+    // başlığı gönderilir. İstemci (veya CDN) bir sonraki istekte bunları If-None-Match / If-Modified-Since
+    // olarak geri yollar. Ürün değişmediyse gövde hiç serileştirilmeden boş bir 304 NOT MODIFIED döner.
+    // WebRequest.checkNotModified: Başlıkları karşılaştırır, eşleşirse yanıtı 304 olarak işaretler ve true döner.
     @GetMapping("/{id}")
-    public ResponseEntity<Product> getProductById(@PathVariable Long id) {
+    public ResponseEntity<Product> getProductById(@PathVariable Long id, WebRequest webRequest) {
         Product product = productService.findById(id); // ProductService'den ürün bulma
-        return ResponseEntity.ok(product); // 200 OK statüsü ile ürünü döndürür.
+        String etag = etagOf(product);
+        long lastModified = product.getUpdatedAt() != null ? product.getUpdatedAt().toEpochMilli() : -1;
+        if (webRequest.checkNotModified(etag, lastModified)) {
+            return null; // 304 NOT MODIFIED: Spring yanıtı gövdesiz tamamlar
+        }
+        return ResponseEntity.ok() // 200 OK statüsü ile ürünü döndürür.
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache()) // Önbellekte tut ama her kullanımda sunucuya sor (revalidate)
+                .body(product);
     }
 
     // HTTP POST isteği -> /api/v1/products
     @PostMapping
     public ResponseEntity<Product> createProduct(@RequestBody Product product) {
-        Product savedProduct = productService.save(product); // ProductService ile ürünü kaydetme
-        // 201 CREATED statüsü ile kaydedilen ürünü döndürür.
-        return new ResponseEntity<>(savedProduct, HttpStatus.CREATED);
+        Product savedProduct = productService.save(product); // ProductService ile ürünü kaydetme (sürümü artırır)
+        // 201 CREATED statüsü ile kaydedilen ürünü, yeni sürümün ETag'i ile döndürür.
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(etagOf(savedProduct)).body(savedProduct);
+    }
+
+    // Sürüm her kayıtta arttığı için ürünün içeriği değişmeden ETag değişmez; gövdeyi hash'lemeye gerek yoktur.
+    private static String etagOf(Product product) {
+        return "\"" + product.getVersion() + "\"";
+    }
+
+    // HTTP POST isteği -> /api/v1/products/batch
+    // Toplu yükleme: Gövde bir JSON dizisi ([{...}, {...}]) ya da NDJSON (her satırda bir JSON obje) olabilir.
+    // @RequestBody List<Product> kullanılsaydı tüm gövde belleğe alınırdı. Bunun yerine Jackson'ın streaming
+    // API'si (JsonParser) ile istek gövdesi obje obje okunur ve 'batchSize' kadar ürün biriktikçe
+    // tek bir saveAll çağrısı yapılır. Böylece yüz binlerce ürün için yüz binlerce HTTP isteği ve
+    // save çağrısı yerine tek istek ve (ürün sayısı / batchSize) kadar saveAll çağrısı yapılır.
+    // Yanıt da akış halinde yazılır (BatchResultWriter): Her batch'in sonuçları kaydedilir kaydedilmez gönderilir,
+    // bellekte tüm sonuç listesi tutulmaz.
+    // Gövde yarıda bozuksa (geçersiz JSON) okuma durur; o ana kadar okunan ürünler kaydedilir ve bozuk satır
+    // FAILED olarak raporlanır. Henüz hiçbir sonuç gönderilmemişse 400 BAD_REQUEST döner.
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson"})
+    public void createProductsBatch(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        List<Product> buffer = new ArrayList<>(batchSize);
+        List<Integer> bufferIndexes = new ArrayList<>(batchSize); // Tampondaki ürünlerin gövdedeki sıra numaraları
+        int index = 0;
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(request.getInputStream());
+             BatchResultWriter results = new BatchResultWriter(objectMapper, response)) {
+            try {
+                JsonToken token = parser.nextToken();
+                if (token == JsonToken.START_ARRAY) {
+                    token = parser.nextToken(); // JSON dizisi ise ilk elemana geç
+                }
+                // NDJSON'da objeler arka arkaya gelir, dizide ise END_ARRAY ile döngü biter.
+                while (token != null && token != JsonToken.END_ARRAY) {
+                    if (token != JsonToken.START_OBJECT) {
+                        // Obje olmayan eleman (örn. [{...}, 5, {...}]): Sessizce durmak yerine FAILED raporlanır,
+                        // değer (dizi ise tüm içeriğiyle) atlanır ve sonraki elemanla devam edilir.
+                        results.write(BatchItemResult.failed(index, "JSON obje bekleniyordu, bulunan: " + token));
+                        parser.skipChildren(); // Skaler değerlerde etkisizdir
+                        index++;
+                        token = parser.nextToken();
+                        continue;
+                    }
+                    JsonNode node = parser.readValueAsTree(); // Sadece tek bir satırı (objeyi) okur
+                    try {
+                        buffer.add(objectMapper.treeToValue(node, Product.class));
+                        bufferIndexes.add(index);
+                    } catch (JsonProcessingException e) {
+                        // Hatalı satır tüm yüklemeyi durdurmaz, sadece o satır FAILED olarak raporlanır.
+                        results.write(BatchItemResult.failed(index, e.getOriginalMessage()));
+                    }
+                    index++;
+                    if (buffer.size() >= batchSize) {
+                        flushBatch(buffer, bufferIndexes, results);
+                    }
+                    token = parser.nextToken();
+                }
+            } catch (JsonProcessingException e) {
+                // Gövdenin geri kalanı okunamaz; okunmuş ürünler yine de kaydedilir.
+                if (!results.isStarted() && buffer.isEmpty()) {
+                    results.start(HttpStatus.BAD_REQUEST);
+                }
+                flushBatch(buffer, bufferIndexes, results);
+                results.write(BatchItemResult.failed(index, e.getOriginalMessage()));
+                return;
+            }
+            flushBatch(buffer, bufferIndexes, results); // Kalan son (eksik) batch'i de kaydet
+        }
+    }
+
+    // Tampondaki ürünleri tek bir saveAll çağrısı ile kaydeder ve her satırın sonucunu yanıta yazar.
+    private void flushBatch(List<Product> buffer, List<Integer> bufferIndexes, BatchResultWriter results) throws IOException {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        List<BatchItemResult> batchResults = new ArrayList<>(buffer.size());
+        try {
+            List<Product> saved = productService.saveAll(buffer);
+            for (int i = 0; i < saved.size(); i++) {
+                batchResults.add(BatchItemResult.created(bufferIndexes.get(i), saved.get(i).getId()));
+            }
+        } catch (RuntimeException e) {
+            // Batch bir bütün olarak (tek transaction'da) kaydedildiği için hata tüm batch'i etkiler.
+            for (Integer i : bufferIndexes) {
+                batchResults.add(BatchItemResult.failed(i, e.getMessage()));
+            }
+        }
+        for (BatchItemResult result : batchResults) {
+            results.write(result);
+        }
+        results.flush(); // Batch'in sonuçları istemciye hemen gitsin
+        buffer.clear();
+        bufferIndexes.clear();
+    }
+}
+
+// Toplu yükleme sonuçlarını yanıt gövdesine bir JSON dizisi ([{...}, {...}]) olarak akış halinde yazar.
+// HTTP başlıkları gövdeden önce gittiği için durum kodu ilk sonuç yazılırken sabitlenir ve tüm yüklemenin
+// sonucu o anda bilinemez: Bu yüzden yanıt 207 MULTI_STATUS'tür, her satırın sonucu gövdededir
+// (başarılı satırlarda 'id', hatalılarda 'error' dolu). İstisna: Hiçbir şey yazılmadan önce gövde
+// bozuksa çağıran taraf start(BAD_REQUEST) ile 400 döndürür.
+class BatchResultWriter implements AutoCloseable {
+    private final ObjectMapper objectMapper;
+    private final HttpServletResponse response;
+    private JsonGenerator generator; // İlk yazımda açılır
+
+    BatchResultWriter(ObjectMapper objectMapper, HttpServletResponse response) {
+        this.objectMapper = objectMapper;
+        this.response = response;
+    }
+
+    boolean isStarted() {
+        return generator != null;
+    }
+
+    void start(HttpStatus status) throws IOException {
+        if (generator != null) {
+            return; // Durum kodu zaten gönderildi
+        }
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        generator = objectMapper.createGenerator(response.getOutputStream());
+        generator.writeStartArray();
+    }
+
+    void write(BatchItemResult result) throws IOException {
+        start(HttpStatus.MULTI_STATUS);
+        generator.writeObject(result);
+    }
+
+    void flush() throws IOException {
+        if (generator != null) {
+            generator.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        start(HttpStatus.MULTI_STATUS); // Boş gövde için de geçerli bir dizi ([]) döner
+        generator.writeEndArray();
+        generator.close();
     }
 }
 
@@ -100,20 +433,51 @@ public class ProductController {
 @Data // @Getter, @Setter, @ToString, @EqualsAndHashCode ve @RequiredArgsConstructor'ı birleştirir.
 @NoArgsConstructor // Parametresiz bir constructor oluşturur.
 @AllArgsConstructor // Tüm alanları içeren bir constructor oluşturur.
+@Table("products") // Spring Data Relational (R2DBC) tablo eşlemesi
 class Product { // Bu sınıf, gerçek bir Spring Boot uygulamasında @Entity olarak da işaretlenebilir.
+    @Id // Spring Data'nın primary key eşlemesi (R2DBC, @Id olmadan entity'nin yeni olup olmadığını bilemez)
     private Long id;
     private String name;
+    // HTTP önbellekleme (ETag / Last-Modified) için: Her kayıtta sürüm artırılır ve zaman güncellenir.
+    // @Entity olduğunda bunlar @Version (iyimser kilitleme ile birlikte) ve @LastModifiedDate ile yönetilir.
+    private Long version;
+    private Instant updatedAt;
     // Derleme sonrası, Lombok otomatik olarak tüm metodları ekleyecektir.
+
+    public Product(Long id, String name) {
+        this(id, name, 0L, null);
+    }
+}
+
+// Toplu yüklemede her satırın sonucunu temsil eder (index: gövdedeki sırası, id: kaydedilen ürünün ID'si).
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+class BatchItemResult {
+    private int index;
+    private Long id;
+    private String error; // Başarılı satırlarda null
+
+    static BatchItemResult created(int index, Long id) { return new BatchItemResult(index, id, null); }
+    static BatchItemResult failed(int index, String error) { return new BatchItemResult(index, null, error); }
 }
 
 // ProductController içinde kullanılan Service arayüzü ve implementasyonu (örnek amaçlı)
 interface ProductService {
     Product findById(Long id);
     Product save(Product product);
+    List<Product> saveAll(List<Product> products); // Toplu kayıt: tek transaction, tek çağrı
 }
 
+@Service // Asıl (veri kaynağına giden) implementasyon; controller'a CachingProductService üzerinden ulaşır.
 class ProductServiceImpl implements ProductService {
     // Burada gerçek bir Repository bağımlılığı olabilir.
+    private final IdGenerator idGenerator; // Çoklu thread ve çoklu node'da benzersiz ID üretir
+
+    public ProductServiceImpl(IdGenerator idGenerator) {
+        this.idGenerator = idGenerator;
+    }
+
     @Override
     public Product findById(Long id) {
         // Mock data or actual database call
@@ -126,12 +490,268 @@ class ProductServiceImpl implements ProductService {
         // Mock data or actual database save operation
         System.out.println("Saving product: " + product.getName());
         if (product.getId() == null) {
-            product.setId(System.currentTimeMillis()); // Basit bir ID atama
+            // System.currentTimeMillis() aynı milisaniyede gelen iki istekte ve birden fazla node'da çakışır.
+            product.setId(idGenerator.nextId());
+            product.setVersion(0L);
+        } else {
+            // Güncelleme: Sürüm artar, böylece istemcilerdeki eski ETag'ler geçersiz olur.
+            // Sürüm istemcinin gönderdiği gövdeden değil, kayıtlı üründen alınır: Aksi halde eski bir sürüm
+            // gönderen istemci, başka bir ürün içeriği için daha önce verilmiş bir ETag'i yeniden üretebilir.
+            // (JPA'da alan @Version ile işaretlenir; Hibernate sürümü yönetilen entity'den artırır ve
+            // "UPDATE ... WHERE id = ? AND version = ?" ile eşzamanlı güncellemeyi de yakalar.)
+            Product stored = findById(product.getId());
+            long storedVersion = stored.getVersion() == null ? 0L : stored.getVersion();
+            product.setVersion(storedVersion + 1);
         }
+        product.setUpdatedAt(Instant.now());
         return product;
     }
+
+    @Override
+    public List<Product> saveAll(List<Product> products) {
+        // Gerçekte: @Transactional ile işaretlenir ve productRepository.saveAll(products) çağrılır.
+        // Hibernate, 'hibernate.jdbc.batch_size' ayarı ile INSERT'leri JDBC batch'leri halinde gönderir.
+        System.out.println("Saving " + products.size() + " products in one batch");
+        List<Product> saved = new ArrayList<>(products.size());
+        for (Product product : products) {
+            saved.add(save(product));
+        }
+        return saved;
+    }
+}
+
+// --- Önbellekli (Cache) ProductService Dekoratörü ---
+// Decorator deseni: Aynı ProductService arayüzünü uygular, asıl işi ProductServiceImpl'e devreder ve
+// findById sonuçlarını Caffeine ile bellekte tutar. @Primary sayesinde ProductController'a bu bean enjekte edilir.
+// - maximumSize: Önbellek boyutu sınırlıdır, dolunca en az kullanılan (W-TinyLFU) ürünler çıkarılır.
+// - expireAfterWrite: TTL; bir ürün en fazla 'ttl' süresi kadar önbellekte kalır.
+// - LoadingCache.get: Aynı anahtar için eşzamanlı gelen cache miss'lerde yükleme yalnızca bir kez yapılır,
+//   diğer thread'ler aynı sonucu bekler (soğuk bir ürün için veritabanına tek bir istek gider).
+// - recordStats + CaffeineCacheMetrics: hit/miss/eviction sayıları /actuator/metrics altında görünür
+//   (cache.gets{result=hit|miss}, cache.evictions, cache.size).
+@Service
+@Primary
+class CachingProductService implements ProductService {
+    private final ProductService delegate;
+    private final LoadingCache<Long, Product> cache;
+
+    public CachingProductService(@Qualifier("productServiceImpl") ProductService delegate,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${product.cache.max-size:10000}") long maxSize,
+                                 @Value("${product.cache.ttl:10m}") Duration ttl) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build(delegate::findById);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "products");
+    }
+
+    @Override
+    public Product findById(Long id) {
+        return cache.get(id); // Önbellekte yoksa delegate.findById ile yüklenir (read-through)
+    }
+
+    @Override
+    public Product save(Product product) {
+        Product saved = delegate.save(product);
+        cache.invalidate(saved.getId()); // Eski sürüm bir sonraki okumada yeniden yüklenir
+        return saved;
+    }
+
+    @Override
+    public List<Product> saveAll(List<Product> products) {
+        List<Product> saved = delegate.saveAll(products);
+        cache.invalidateAll(saved.stream().map(Product::getId).toList());
+        return saved;
+    }
 }
 
+/*
+ * Caffeine ve Micrometer (Actuator ile gelir) Maven Bağımlılığı:
+ * <dependency>
+ * <groupId>com.github.ben-manes.caffeine</groupId>
+ * <artifactId>caffeine</artifactId>
+ * </dependency>
+ *
+ * Konfigürasyon (application.properties):
+ * product.cache.max-size=10000
+ * product.cache.ttl=10m
+ * management.endpoints.web.exposure.include=health,info,metrics
+ *
+ * Örnek: GET /actuator/metrics/cache.gets?tag=cache:products&tag=result:hit
+ */
+
+
+// --- Snowflake Tarzı ID Üretici ---
+// 64 bitlik ID = [41 bit zaman damgası (ms, EPOCH'tan itibaren)] [10 bit node ID] [12 bit sıra numarası]
+// Kilit (synchronized) kullanılmaz ve tek bir ortak sayaç da yoktur: 12 bitlik sıra alanı 16 şeride (stripe) bölünür
+// (4 bit şerit + 8 bit sıra). Her thread önce kendi ID'sine göre seçilen "ev" şeridini dener ve yalnızca o şeridin
+// durumunu (zaman damgası + sıra) compareAndSet ile günceller; farklı şeritler ayrı önbellek satırlarında durur,
+// thread'ler aynı değişken için yarışmaz. Ev şeridin milisaniyelik 256 ID'si biterse sıradaki şeritler denenir;
+// böylece tek bir thread (örn. toplu içe aktarma) de node'un milisaniyelik 4096 ID'sinin tamamını kullanabilir.
+// Sıralama garantisi: Zaman damgası en yüksek bitlerde olduğu için farklı milisaniyelerde üretilen ID'ler zamana göre
+// sıralıdır. AYNI milisaniye içinde sıra yalnızca şerit başınadır (şerit içinde monotonic artar); farklı şeritlerden
+// gelen ID'lerin sırası üretim sırasını yansıtmaz. ID'ye göre sıralama milisaniye hassasiyetinde zaman sırası verir.
+// Bütün şeritler doluysa bir sonraki milisaniye BEKLENİR; gelecekteki milisaniyeler ödünç alınmaz. Böylece üretilen
+// zaman damgası hiçbir zaman gerçek saatin önüne geçmez ve node yeniden başlatıldığında daha önce verilmiş ID'ler
+// tekrar üretilmez. Saat MAX_BACKWARD_MS'ten fazla geri giderse ID üretimi hata verir (fail fast).
+@Component
+class IdGenerator {
+    private static final long EPOCH = 1704067200000L; // 2024-01-01T00:00:00Z, 41 bit ile ~69 yıl yeter
+    private static final int NODE_BITS = 10;          // En fazla 1024 node
+    private static final int SEQUENCE_BITS = 12;      // Node başına milisaniyede 4096 ID
+    private static final int STRIPE_BITS = 4;         // 16 şerit, her biri milisaniyede 256 ID
+    private static final int STRIPE_SEQUENCE_BITS = SEQUENCE_BITS - STRIPE_BITS;
+    private static final int STRIPES = 1 << STRIPE_BITS;
+    private static final int PADDING = 8;             // Şerit başına 8 long = 64 bayt: false sharing olmasın
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long STRIPE_SEQUENCE_MASK = (1L << STRIPE_SEQUENCE_BITS) - 1;
+    private static final long MAX_BACKWARD_MS = 10;   // Bu kadarlık saat geri gitmesi beklenerek tolere edilir
+
+    private final long nodeId;
+    // Şerit başına: (zamanDamgası << STRIPE_SEQUENCE_BITS) | sıraNumarası
+    private final AtomicLongArray stripes = new AtomicLongArray(STRIPES * PADDING);
+
+    // Her node (uygulama instance'ı) farklı bir 'app.node-id' ile başlatılmalıdır.
+    public IdGenerator(@Value("${app.node-id:0}") long nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("app.node-id 0 ile " + MAX_NODE_ID + " arasında olmalı: " + nodeId);
+        }
+        this.nodeId = nodeId;
+    }
+
+    public long nextId() {
+        int home = (int) (Thread.currentThread().threadId() & (STRIPES - 1));
+        while (true) {
+            for (int i = 0; i < STRIPES; i++) {
+                long id = tryNextId((home + i) & (STRIPES - 1));
+                if (id >= 0) {
+                    return id;
+                }
+            }
+            Thread.onSpinWait(); // Node'un bu milisaniyedeki 4096 ID'si bitti: saat ilerleyene kadar bekle
+        }
+    }
+
+    // Şeridin bu milisaniyedeki sıra numaraları bittiyse -1 döner (çağıran bir sonraki şeridi dener).
+    private long tryNextId(int stripe) {
+        int index = stripe * PADDING;
+        while (true) {
+            long current = stripes.get(index);
+            long last = current >>> STRIPE_SEQUENCE_BITS;
+            long now = System.currentTimeMillis() - EPOCH;
+            long next;
+            if (now > last) {
+                next = now << STRIPE_SEQUENCE_BITS; // Yeni milisaniye: sıra numarası 0'dan başlar
+            } else if (last - now > MAX_BACKWARD_MS) {
+                throw new IllegalStateException("Sistem saati " + (last - now) + " ms geri gitti, ID üretilemiyor");
+            } else if ((current & STRIPE_SEQUENCE_MASK) == STRIPE_SEQUENCE_MASK) {
+                return -1;
+            } else {
+                next = current + 1; // Aynı milisaniye (veya küçük geri gitme): son zaman damgasıyla devam
+            }
+            if (stripes.compareAndSet(index, current, next)) {
+                long timestamp = next >>> STRIPE_SEQUENCE_BITS;
+                long sequence = ((long) stripe << STRIPE_SEQUENCE_BITS) | (next & STRIPE_SEQUENCE_MASK);
+                return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+            }
+        }
+    }
+}
+
+// IdGenerator için JMH benchmark'ı: Tüm çekirdeklerde aynı instance'tan eşzamanlı ID üretimi (ops/s).
+// Çalıştırma: mvn package && java -jar target/benchmarks.jar IdGeneratorBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdGeneratorBenchmark {
+    private final IdGenerator idGenerator = new IdGenerator(1);
+
+    @Benchmark
+    @Threads(1)
+    public long singleThread() {
+        return idGenerator.nextId();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX) // Çekirdek sayısı kadar thread
+    public long allCores() {
+        return idGenerator.nextId();
+    }
+}
+
+// Benzersizlik stres kontrolü: Çok sayıda thread aynı anda ID üretir, tekrar eden bir ID veya thread içinde
+// zaman damgası geriye giden bir ID bulunursa hata fırlatılır (aynı milisaniyede şerit değişebildiği için
+// ID'nin kendisi değil, zaman damgası kısmı karşılaştırılır).
+class IdGeneratorStressCheck {
+    public static void main(String[] args) throws Exception {
+        int threads = Runtime.getRuntime().availableProcessors() * 2;
+        int idsPerThread = 1_000_000;
+        IdGenerator idGenerator = new IdGenerator(7);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                long[] ids = new long[idsPerThread];
+                for (int i = 0; i < idsPerThread; i++) {
+                    ids[i] = idGenerator.nextId();
+                    if (i > 0 && (ids[i] >>> 22) < (ids[i - 1] >>> 22)) { // 22 = node (10) + sıra (12) bitleri
+                        throw new IllegalStateException("Zaman damgası geri gitti: " + ids[i - 1] + " -> " + ids[i]);
+                    }
+                }
+                return ids;
+            }));
+        }
+        long[] all = new long[threads * idsPerThread];
+        int pos = 0;
+        for (Future<long[]> future : futures) {
+            long[] ids = future.get();
+            System.arraycopy(ids, 0, all, pos, ids.length);
+            pos += ids.length;
+        }
+        executor.shutdown();
+        Arrays.sort(all);
+        for (int i = 1; i < all.length; i++) {
+            if (all[i] == all[i - 1]) {
+                throw new IllegalStateException("Tekrar eden ID: " + all[i]);
+            }
+        }
+        System.out.println(all.length + " ID üretildi, hepsi benzersiz.");
+    }
+}
+
+/*
+ * JMH Maven Bağımlılıkları (pom.xml'e eklenmeli):
+ * <dependency>
+ * <groupId>org.openjdk.jmh</groupId>
+ * <artifactId>jmh-core</artifactId>
+ * <version>1.37</version>
+ * </dependency>
+ * <dependency>
+ * <groupId>org.openjdk.jmh</groupId>
+ * <artifactId>jmh-generator-annprocess</artifactId>
+ * <version>1.37</version>
+ * <scope>provided</scope>
+ * </dependency>
+ */
+
+/*
+ * Toplu Yükleme Konfigürasyonu (application.properties):
+ * product.batch.size=500                                  # Her saveAll çağrısındaki ürün sayısı
+ * spring.jpa.properties.hibernate.jdbc.batch_size=500     # Hibernate'in JDBC batch boyutu (aynı tutulması önerilir)
+ * spring.jpa.properties.hibernate.order_inserts=true      # Aynı tablodaki INSERT'leri gruplar
+ *
+ * Örnek istek (NDJSON):
+ * curl -X POST http://localhost:8080/api/v1/products/batch \
+ *      -H "Content-Type: application/x-ndjson" --data-binary @products.ndjson
+ * Yanıt: 207 MULTI_STATUS ve [{"index":0,"id":...,"error":null}, {"index":1,"id":null,"error":"..."}, ...]
+ */
+
 /*
  * Lombok Maven Bağımlılığı (pom.xml'e eklenmeli):
  * <dependency>
@@ -142,6 +762,329 @@ class ProductServiceImpl implements ProductService {
  */
 
 
+// --- Hızlı JSON Serileştirme Modu (Product Yanıtları) ---
+// Varsayılan Jackson, Product'ı serileştirirken alanları reflection ile bulur ve getter'ları reflection ile
+// çağırır; liste dönen endpoint'lerde bu, bellek ayırma (allocation) profilinin büyük kısmını oluşturur.
+// 'product.json.fast-path=true' olduğunda:
+// - Product için elle yazılmış bir serializer kullanılır: Alan adları önceden kodlanmış (SerializedString)
+//   olarak tutulur, getter'lar doğrudan çağrılır ve değerler JsonGenerator ile doğrudan yanıt gövdesinin
+//   çıkış tamponuna (response output stream) yazılır; ara nesne ya da String oluşturulmaz.
+// - Diğer tipler için Blackbird modülü eklenir: Reflection çağrıları yerine çalışma zamanında
+//   LambdaMetafactory ile üretilen erişimciler (accessor) kullanılır.
+// Spring Boot, Module tipindeki bean'leri otomatik olarak kendi ObjectMapper'ına kaydeder.
+@Configuration
+@ConditionalOnProperty(name = "product.json.fast-path", havingValue = "true")
+class FastJsonConfig {
+
+    @Bean
+    public SimpleModule productJsonModule() {
+        SimpleModule module = new SimpleModule("ProductJsonModule");
+        module.addSerializer(Product.class, new ProductJsonSerializer());
+        return module;
+    }
+
+    @Bean
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
+
+// Çıktısı varsayılan Jackson çıktısı ile aynıdır (Spring Boot'ta Instant, ISO-8601 metni olarak yazılır).
+// updatedAt, Instant.toString() yerine thread başına tekrar kullanılan bir char[] tampona biçimlendirilir;
+// böylece satır başına ara String oluşmaz.
+class ProductJsonSerializer extends StdSerializer<Product> {
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString NAME = new SerializedString("name");
+    private static final SerializedString VERSION = new SerializedString("version");
+    private static final SerializedString UPDATED_AT = new SerializedString("updatedAt");
+    private static final ThreadLocal<char[]> INSTANT_BUFFER = ThreadLocal.withInitial(() -> new char[32]);
+
+    ProductJsonSerializer() {
+        super(Product.class);
+    }
+
+    @Override
+    public void serialize(Product product, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject();
+        gen.writeFieldName(ID);
+        writeNullableLong(gen, product.getId());
+        gen.writeFieldName(NAME);
+        gen.writeString(product.getName()); // null ise writeString null yazar
+        gen.writeFieldName(VERSION);
+        writeNullableLong(gen, product.getVersion());
+        gen.writeFieldName(UPDATED_AT);
+        writeInstant(gen, product.getUpdatedAt());
+        gen.writeEndObject();
+    }
+
+    private static void writeInstant(JsonGenerator gen, Instant instant) throws IOException {
+        if (instant == null) {
+            gen.writeNull();
+            return;
+        }
+        char[] buffer = INSTANT_BUFFER.get();
+        int length = formatIso(instant, buffer);
+        if (length < 0) {
+            gen.writeString(instant.toString()); // 0000-9999 dışındaki yıllar: nadir, standart yola düş
+        } else {
+            gen.writeString(buffer, 0, length);
+        }
+    }
+
+    // DateTimeFormatter.ISO_INSTANT (Instant.toString) ile aynı biçim: 2024-01-01T10:15:30Z, kesir varsa
+    // 3, 6 veya 9 basamak (örn. .120Z). Gün sayısından yıl/ay/gün hesabı: Howard Hinnant'ın civil_from_days algoritması.
+    // Yıl 0000-9999 aralığı dışındaysa -1 döner.
+    static int formatIso(Instant instant, char[] buffer) {
+        long epochSecond = instant.getEpochSecond();
+        long days = Math.floorDiv(epochSecond, 86_400);
+        int secondOfDay = (int) Math.floorMod(epochSecond, 86_400);
+        long z = days + 719_468;
+        long era = Math.floorDiv(z, 146_097);
+        long dayOfEra = z - era * 146_097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1_460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long mp = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * mp + 2) / 5 + 1);
+        int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        if (year < 0 || year > 9_999) {
+            return -1;
+        }
+        int pos = writeDigits(buffer, 0, (int) year, 4);
+        buffer[pos++] = '-';
+        pos = writeDigits(buffer, pos, month, 2);
+        buffer[pos++] = '-';
+        pos = writeDigits(buffer, pos, day, 2);
+        buffer[pos++] = 'T';
+        pos = writeDigits(buffer, pos, secondOfDay / 3_600, 2);
+        buffer[pos++] = ':';
+        pos = writeDigits(buffer, pos, secondOfDay / 60 % 60, 2);
+        buffer[pos++] = ':';
+        pos = writeDigits(buffer, pos, secondOfDay % 60, 2);
+        int nano = instant.getNano();
+        if (nano != 0) {
+            buffer[pos++] = '.';
+            if (nano % 1_000_000 == 0) {
+                pos = writeDigits(buffer, pos, nano / 1_000_000, 3);
+            } else if (nano % 1_000 == 0) {
+                pos = writeDigits(buffer, pos, nano / 1_000, 6);
+            } else {
+                pos = writeDigits(buffer, pos, nano, 9);
+            }
+        }
+        buffer[pos++] = 'Z';
+        return pos;
+    }
+
+    private static int writeDigits(char[] buffer, int pos, int value, int width) {
+        for (int i = pos + width - 1; i >= pos; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return pos + width;
+    }
+
+    private static void writeNullableLong(JsonGenerator gen, Long value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.longValue());
+        }
+    }
+}
+
+// JSON serileştirme benchmark'ı: 1000 ürünlük bir listeyi varsayılan ObjectMapper ve hızlı mod ile yazar.
+// Bellek ayırmayı görmek için GC profiler'ı ile çalıştırılır:
+// java -jar target/benchmarks.jar ProductJsonBenchmark -prof gc   (gc.alloc.rate.norm = byte/op)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductJsonBenchmark {
+    private List<Product> products;
+    private ObjectWriter defaultWriter;
+    private ObjectWriter fastWriter;
+
+    @Setup
+    public void setup() {
+        products = new ArrayList<>();
+        for (long i = 0; i < 1000; i++) {
+            products.add(new Product(i, "Product " + i, 3L, Instant.parse("2024-01-01T00:00:00Z")));
+        }
+        // Spring Boot'un varsayılan ayarlarıyla aynı: JavaTimeModule + tarihler metin olarak
+        ObjectMapper defaultMapper = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        ObjectMapper fastMapper = defaultMapper.copy()
+                .registerModule(new FastJsonConfig().productJsonModule())
+                .registerModule(new BlackbirdModule());
+        TypeReference<List<Product>> listType = new TypeReference<>() {};
+        defaultWriter = defaultMapper.writerFor(listType);
+        fastWriter = fastMapper.writerFor(listType);
+    }
+
+    // Yanıt gövdesine yazmayı taklit eder; çıktı atılır, sadece serileştirme maliyeti ölçülür.
+    @Benchmark
+    public void defaultObjectMapper() throws IOException {
+        defaultWriter.writeValue(OutputStream.nullOutputStream(), products);
+    }
+
+    @Benchmark
+    public void fastPath() throws IOException {
+        fastWriter.writeValue(OutputStream.nullOutputStream(), products);
+    }
+}
+
+/*
+ * Blackbird Maven Bağımlılığı (versiyonu Spring Boot yönetir):
+ * <dependency>
+ * <groupId>com.fasterxml.jackson.module</groupId>
+ * <artifactId>jackson-module-blackbird</artifactId>
+ * </dependency>
+ *
+ * Konfigürasyon (application.properties):
+ * product.json.fast-path=true
+ */
+
+
+// --- Reaktif (Non-Blocking) Ürün Servisi ve WebFlux Controller ---
+// ProductService'in metotları bloklayıcıdır: findById cevap gelene kadar çağıran thread'i tutar.
+// Reaktif yığında (Spring WebFlux + R2DBC) metotlar hemen bir Mono (0..1 eleman) veya Flux (0..N eleman)
+// döndürür; veri hazır olduğunda az sayıdaki event-loop thread'i işlemi devam ettirir. Bekleyen istemci
+// başına thread tutulmadığı için tek bir node on binlerce yavaş istemciyi aynı anda bekletebilir.
+// Not: Spring MVC ve WebFlux aynı uygulamada aynı anda sunucu olarak çalışamaz; reaktif yığın
+//      'reactive' profili ile ayrı bir dağıtım olarak açılır (spring.main.web-application-type=reactive).
+interface ReactiveProductService {
+    Mono<Product> findById(Long id);
+    Mono<Product> save(Product product);
+    Flux<Product> findAll();
+}
+
+// R2DBC: JDBC'nin reaktif karşılığı. Veritabanı sürücüsü de bloklamaz.
+// Not: save(), id'si null olmayan entity'yi "mevcut" sayar ve UPDATE çalıştırır. ID'yi uygulama
+//      (IdGenerator) atadığı için yeni ürünler R2dbcEntityTemplate.insert ile eklenir.
+interface ProductR2dbcRepository extends ReactiveCrudRepository<Product, Long> {
+}
+
+@Service
+@Profile("reactive")
+class ReactiveProductServiceImpl implements ReactiveProductService {
+    private final ProductR2dbcRepository productRepository;
+    private final R2dbcEntityTemplate entityTemplate;
+    private final IdGenerator idGenerator;
+
+    public ReactiveProductServiceImpl(ProductR2dbcRepository productRepository,
+                                      R2dbcEntityTemplate entityTemplate,
+                                      IdGenerator idGenerator) {
+        this.productRepository = productRepository;
+        this.entityTemplate = entityTemplate;
+        this.idGenerator = idGenerator;
+    }
+
+    @Override
+    public Mono<Product> findById(Long id) {
+        return productRepository.findById(id);
+    }
+
+    // Sürüm ve updatedAt, MVC yolundaki ProductServiceImpl.save ile aynı kurallarla güncellenir; aksi halde
+    // reaktif yoldan yazılan ürünlerin ETag'i hiç değişmez.
+    @Override
+    public Mono<Product> save(Product product) {
+        if (product.getId() == null) {
+            // IdGenerator kilit kullanmaz; yalnızca node'un milisaniyelik 4096 ID'si tükenirse bir sonraki
+            // milisaniyeye kadar (en fazla ~1 ms) döner (spin). Event-loop'ta bu kadarlık bir gecikme kabul edilir.
+            product.setId(idGenerator.nextId());
+            product.setVersion(0L);
+            product.setUpdatedAt(Instant.now());
+            // repository.save burada UPDATE çalıştırır, hiçbir satır etkilenmez ve ürün sessizce kaybolur.
+            return entityTemplate.insert(product);
+        }
+        // Mevcut ürün: Sürüm istemcinin gövdesinden değil, kayıtlı üründen alınır.
+        return productRepository.findById(product.getId())
+                .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Ürün bulunamadı: " + product.getId())))
+                .flatMap(stored -> {
+                    long storedVersion = stored.getVersion() == null ? 0L : stored.getVersion();
+                    product.setVersion(storedVersion + 1);
+                    product.setUpdatedAt(Instant.now());
+                    return productRepository.save(product); // UPDATE
+                });
+    }
+
+    @Override
+    public Flux<Product> findAll() {
+        return productRepository.findAll();
+    }
+}
+
+// Aynı /api/v1/products yollarını reaktif olarak sunan controller.
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/v1/products")
+class ReactiveProductController {
+    private final ReactiveProductService productService;
+
+    public ReactiveProductController(ReactiveProductService productService) {
+        this.productService = productService;
+    }
+
+    // HTTP GET isteği -> /api/v1/products/{id} (bulunamazsa 404)
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Product>> getProductById(@PathVariable Long id) {
+        return productService.findById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    // HTTP POST isteği -> /api/v1/products
+    @PostMapping
+    public Mono<ResponseEntity<Product>> createProduct(@RequestBody Mono<Product> product) {
+        return product.flatMap(productService::save)
+                .map(saved -> new ResponseEntity<>(saved, HttpStatus.CREATED));
+    }
+
+    // HTTP GET isteği -> /api/v1/products/stream (Server-Sent Events)
+    // Ürünler veritabanından geldikçe tek tek istemciye gönderilir; liste belleğe toplanmaz.
+    // Backpressure: Yavaş bir istemcinin TCP tamponu dolduğunda WebFlux daha fazla eleman istemez (request(n)),
+    // istek R2DBC'ye kadar yayılır ve veritabanından okuma da yavaşlar. limitRate ile talepler 256'lık
+    // gruplar halinde yapılır.
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Product>> streamProducts() {
+        return productService.findAll()
+                .limitRate(256)
+                .map(product -> ServerSentEvent.builder(product)
+                        .id(String.valueOf(product.getId()))
+                        .event("product")
+                        .build());
+    }
+}
+
+/*
+ * Reaktif Yığın Maven Bağımlılıkları ('reactive' profili için):
+ * <dependency>
+ * <groupId>org.springframework.boot</groupId>
+ * <artifactId>spring-boot-starter-webflux</artifactId>
+ * </dependency>
+ * <dependency>
+ * <groupId>org.springframework.boot</groupId>
+ * <artifactId>spring-boot-starter-data-r2dbc</artifactId>
+ * </dependency>
+ * <dependency>
+ * <groupId>org.postgresql</groupId>
+ * <artifactId>r2dbc-postgresql</artifactId>
+ * <scope>runtime</scope>
+ * </dependency>
+ *
+ * Konfigürasyon (application-reactive.properties):
+ * spring.main.web-application-type=reactive
+ * spring.r2dbc.url=r2dbc:postgresql://localhost:5432/demo
+ *
+ * SSE örneği: curl -N http://localhost:8080/api/v1/products/stream
+ */
+
+
 // --- Spring Boot Actuator ---
 // Spring Boot uygulamalarının izlenmesi ve yönetilmesi için üretim ortamına hazır özellikler sunar.
 // Uygulamanın çalışma zamanı durumunu (sağlık durumu, metrikler, ortam bilgisi, loglar vb.)
@@ -220,7 +1163,7 @@ class ProductServiceImpl implements ProductService {
  * <description>Demo project for Spring Boot</description>
  *
  * <properties>
- * <java.version>17</java.version>
+ * <java.version>21</java.version> // Sanal thread'ler için Java 21+ gerekir
  * </properties>
  *
  * <dependencies>
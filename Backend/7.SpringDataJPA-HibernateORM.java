@@ -11,10 +11,40 @@
 
 import jakarta.persistence.*; // JPA (Jakarta Persistence API) annotation'ları
 import org.springframework.data.jpa.repository.JpaRepository; // Spring Data JPA
+import org.springframework.data.jpa.repository.EntityGraph; // Fetch planlarını repository metoduna bağlar
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice; // Toplam sayı (COUNT) hesaplamadan sayfa döndürür
+import org.springframework.data.repository.query.Param;
+import org.hibernate.SessionFactory;  // Benchmark'ta Hibernate istatistiklerine erişmek için
+import org.hibernate.stat.Statistics;
+import org.hibernate.annotations.BatchSize; // LAZY ilişkileri gruplar halinde yükler
+import org.hibernate.resource.jdbc.spi.StatementInspector;
 import org.springframework.stereotype.Repository; // Spring Core annotation'ı
+import org.springframework.stereotype.Component;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.Optional; // Nullable dönüş değerleri için
+import java.util.stream.Stream;
+import java.util.function.Function;
+import java.lang.management.ManagementFactory; // Benchmark'ta thread başına bellek ayırma ölçümü için
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 // --- Entity ve Repository ---
 // Entity sınıfları, veritabanı tablolarına karşılık gelen Java objeleridir.
@@ -23,12 +53,18 @@ import java.util.Optional; // Nullable dönüş değerleri için
 
 @Entity // Bu sınıfın bir veritabanı tablosuna karşılık geldiğini belirtir.
 @Table(name = "kullanicilar") // Veritabanındaki tablo adını belirtir (isteğe bağlı, varsayılan sınıf adıdır).
+@EntityListeners(KullaniciSearchListener.class) // Kayıt/güncelleme/silme olaylarında arama index'ini günceller.
 public class Kullanici {
     @Id // Bu alanın tablonun birincil anahtarı (Primary Key) olduğunu belirtir.
-    @GeneratedValue(strategy = GenerationType.IDENTITY) // ID'nin veritabanı tarafından otomatik artırılacağını belirtir.
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "kullanici_seq") // ID'yi bir sekanstan alır.
+    @SequenceGenerator(name = "kullanici_seq", sequenceName = "kullanicilar_seq", allocationSize = 50)
     // IDENTITY: Veritabanının kendi otomatik artırma özelliğini kullanır (MySQL, PostgreSQL).
+    //           ID ancak INSERT çalıştıktan sonra öğrenilebildiği için Hibernate JDBC batch insert'i kapatır.
     // AUTO: Veritabanına göre otomatik seçer (varsayılan).
-    // SEQUENCE: Veritabanı sekanslarını kullanır.
+    // SEQUENCE: Veritabanı sekanslarını kullanır. allocationSize = 50 ile Hibernate'in "pooled" optimizer'ı
+    //           devreye girer: Sekanstan tek bir değer çekilir ve 50 ID'lik blok bellekten dağıtılır.
+    //           Böylece hem sekans çağrısı 50 insert'te bire düşer hem de INSERT'ler batch halinde gönderilebilir.
+    //           Not: Veritabanındaki sekansın INCREMENT BY değeri allocationSize ile aynı olmalıdır.
     // TABLE: Bir yardımcı tablo kullanır.
     private Long id;
 
@@ -94,7 +130,308 @@ public interface KullaniciRepository extends JpaRepository<Kullanici, Long> {
 
     // Diğer örnekler:
     List<Kullanici> findByEmailContaining(String keyword); // E-postası belirli bir kelime içeren kullanıcıları bul
+    List<Kullanici> findByKullaniciAdiContaining(String keyword); // Not: Büyük tablolarda KullaniciSearchIndex tercih edilir
+    // Aynı sorguların sınırlı versiyonları: Pageable, sorguya LIMIT ekler (sayfa 0 ise OFFSET yoktur).
+    List<Kullanici> findByEmailContaining(String keyword, Pageable pageable);
+    List<Kullanici> findByKullaniciAdiContaining(String keyword, Pageable pageable);
     long countByKullaniciAdi(String kullaniciAdi); // Belirli bir kullanıcı adına sahip kaç kullanıcı olduğunu say
+
+    // --- Keyset (Seek) Sayfalama ---
+    // findAll(PageRequest.of(sayfa, boyut)) "LIMIT boyut OFFSET sayfa*boyut" üretir; veritabanı atlanan
+    // tüm satırları okumak zorunda olduğu için derin sayfalar giderek yavaşlar ve her sayfada ek bir COUNT(*) çalışır.
+    // Keyset sayfalamada bir önceki sayfanın son ID'si "imleç" (cursor) olarak verilir:
+    // "SELECT ... WHERE id > :lastId ORDER BY id LIMIT :boyut" -> Primary key index'i ile doğrudan
+    // o noktaya atlanır, bu yüzden 1. sayfa ile 100.000. sayfanın maliyeti aynıdır.
+    // Slice, Page'in aksine toplam sayıyı hesaplamaz (COUNT sorgusu yok), sadece sonraki sayfa var mı bilgisini tutar.
+    Slice<Kullanici> findByIdGreaterThanOrderByIdAsc(Long lastId, Pageable pageable);
+
+    // İlk sayfa için lastId = null verilir; Pageable her zaman 0. sayfadır, böylece OFFSET hiç kullanılmaz.
+    // Bir sonraki çağrıda: slice.getContent().get(slice.getNumberOfElements() - 1).getId() imleç olarak verilir.
+    default Slice<Kullanici> findPageAfter(Long lastId, int size) {
+        return findByIdGreaterThanOrderByIdAsc(lastId == null ? 0L : lastId, PageRequest.of(0, size));
+    }
+
+    // Tüm tabloyu belleğe almadan satır satır işlemek için Stream döndüren sorgu.
+    // HINT_FETCH_SIZE: JDBC sürücüsü satırları 1000'erli gruplar halinde getirir (PostgreSQL'de
+    //                  transaction içinde ve autocommit kapalıyken sunucu tarafı cursor kullanılır).
+    // HINT_READ_ONLY: Hibernate entity'ler için dirty-checking snapshot'ı tutmaz, bellek kullanımı düşer.
+    // Not: Stream bir @Transactional(readOnly = true) metot içinde, try-with-resources ile kullanılmalı
+    //      ve işlenen entity'ler ara ara entityManager.detach(...) ile persistence context'ten çıkarılmalıdır.
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT k FROM Kullanici k WHERE k.id > :lastId ORDER BY k.id")
+    Stream<Kullanici> streamAllAfter(@Param("lastId") Long lastId);
+
+    // --- DTO Projeksiyonları (Sadece Okuma Listeleri İçin) ---
+    // Entity döndüren sorgular her satır için yönetilen (managed) bir Kullanici oluşturur ve dirty-checking için
+    // bir kopyasını (snapshot) persistence context'te tutar. Sadece kullanıcı adı gösterilen bir liste için bu gereksizdir.
+    // Projeksiyon döndüren metotlar sadece istenen sütunları seçer ("SELECT id, kullanici_adi ...") ve sonuçlar
+    // persistence context'e hiç girmez; snapshot ve entity hydration maliyeti ortadan kalkar.
+    Slice<KullaniciOzet> findOzetByIdGreaterThanOrderByIdAsc(Long lastId, Pageable pageable);
+
+    // Dinamik projeksiyon: Aynı sorgu, çağıran tarafın istediği tipte (entity, interface veya record) döner.
+    // Örn: findByKullaniciAdiStartingWith("dev", KullaniciOzet.class)
+    <T> List<T> findByKullaniciAdiStartingWith(String prefix, Class<T> type);
+}
+
+// Interface (kapalı) projeksiyon: Spring Data, sorguyu sadece bu getter'lara karşılık gelen sütunlarla oluşturur.
+interface KullaniciOzet {
+    Long getId();
+    String getKullaniciAdi();
+}
+
+/*
+ * Keyset sayfalama örneği (bir servis metodu içinde):
+ * Long imlec = null;
+ * Slice<Kullanici> sayfa;
+ * do {
+ *     sayfa = kullaniciRepository.findPageAfter(imlec, 500);
+ *     sayfa.forEach(k -> ...);
+ *     if (sayfa.hasContent()) {
+ *         imlec = sayfa.getContent().get(sayfa.getNumberOfElements() - 1).getId();
+ *     }
+ * } while (sayfa.hasNext());
+ *
+ * Stream örneği:
+ * @Transactional(readOnly = true)
+ * public void exportAll() {
+ *     try (Stream<Kullanici> kullanicilar = kullaniciRepository.streamAllAfter(0L)) {
+ *         kullanicilar.forEach(k -> { yaz(k); entityManager.detach(k); });
+ *     }
+ * }
+ */
+
+
+// --- Alt Metin (Substring) Araması için N-gram Index ---
+// findByEmailContaining "WHERE email LIKE '%kelime%'" sorgusuna dönüşür. Başında '%' olan LIKE, B-tree
+// index'ini kullanamaz ve her aramada tüm 'kullanicilar' tablosu taranır (full scan).
+// Çözüm: Her değeri 3 harflik parçalara (trigram) böler ve "trigram -> bu trigramı içeren ID'ler"
+// şeklinde bir ters index (inverted index) tutarız. "ahmet" araması için "ahm", "hme", "met" trigramlarının
+// ID kümelerinin kesişimi alınır; aday sayısı çok küçük olduğu için sadece onlar gerçekten kontrol edilir.
+// Trigramlar sırayı garanti etmediğinden kesişimde yanlış pozitif olabilir, bu yüzden son adımda contains ile doğrulanır.
+class NgramIndex {
+    private static final int N = 3;
+
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>(); // trigram -> ID'ler
+    private final Map<Long, String> values = new ConcurrentHashMap<>();        // ID -> index'lenmiş değer
+
+    public void put(Long id, String value) {
+        remove(id); // Güncellemede eski değerin trigramları temizlenir
+        if (value == null) {
+            return;
+        }
+        String normalized = value.toLowerCase(Locale.ROOT);
+        values.put(id, normalized);
+        for (String gram : grams(normalized)) {
+            postings.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    public void remove(Long id) {
+        String old = values.remove(id);
+        if (old == null) {
+            return;
+        }
+        for (String gram : grams(old)) {
+            Set<Long> ids = postings.get(gram);
+            if (ids != null) {
+                ids.remove(id);
+            }
+        }
+    }
+
+    public Optional<List<Long>> search(String query) {
+        return search(query, Integer.MAX_VALUE);
+    }
+
+    // 3 karakterden kısa sorgular trigram'a bölünemez; bu durumda Optional.empty() döner ve
+    // çağıran taraf veritabanı sorgusuna (fallback) düşer.
+    // limit: En fazla bu kadar ID döner; "gmail" gibi çok yaygın bir parça milyonlarca eşleşme üretebilir.
+    public Optional<List<Long>> search(String query, int limit) {
+        String q = query.toLowerCase(Locale.ROOT);
+        if (q.length() < N) {
+            return Optional.empty();
+        }
+        // En küçük ID kümesinden başlamak, kesişimi en ucuz hale getirir.
+        List<Set<Long>> lists = new ArrayList<>();
+        for (String gram : grams(q)) {
+            Set<Long> ids = postings.get(gram);
+            if (ids == null || ids.isEmpty()) {
+                return Optional.of(List.of()); // Trigramlardan biri hiç yoksa sonuç boştur
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+        List<Long> result = new ArrayList<>();
+        for (Long id : lists.get(0)) {
+            if (result.size() >= limit) {
+                break;
+            }
+            boolean inAll = true;
+            for (int i = 1; i < lists.size() && inAll; i++) {
+                inAll = lists.get(i).contains(id);
+            }
+            String value = values.get(id);
+            if (inAll && value != null && value.contains(q)) { // Yanlış pozitifleri ele
+                result.add(id);
+            }
+        }
+        return Optional.of(result);
+    }
+
+    private static Set<String> grams(String value) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + N <= value.length(); i++) {
+            grams.add(value.substring(i, i + N));
+        }
+        return grams;
+    }
+}
+
+// Kullanici'nin email ve kullaniciAdi alanları için iki ayrı index tutan Spring bileşeni.
+// Uygulama açılırken tüm tablo keyset stream'i ile okunup index doldurulur, sonrasında
+// KullaniciSearchListener sayesinde commit edilen değişikliklerle senkron tutulur.
+@Component
+class KullaniciSearchIndex {
+    private static final int REBUILD_CHUNK_SIZE = 1000; // streamAllAfter'daki fetch size ile aynı
+    private static final int MAX_RESULTS = 100;         // Tek bir aramada yüklenecek en fazla kullanıcı
+
+    private final NgramIndex emailIndex = new NgramIndex();
+    private final NgramIndex kullaniciAdiIndex = new NgramIndex();
+    private final KullaniciRepository kullaniciRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public KullaniciSearchIndex(@Lazy KullaniciRepository kullaniciRepository) {
+        this.kullaniciRepository = kullaniciRepository;
+    }
+
+    // HINT_READ_ONLY snapshot'ı engeller ama entity'ler yine de persistence context'te birikir;
+    // milyonlarca satırda OOM olmaması için her chunk sonunda context temizlenir.
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        int[] count = {0};
+        try (Stream<Kullanici> kullanicilar = kullaniciRepository.streamAllAfter(0L)) {
+            kullanicilar.forEach(kullanici -> {
+                index(kullanici);
+                if (++count[0] % REBUILD_CHUNK_SIZE == 0) {
+                    entityManager.clear(); // Sadece okuma yapıldığı için kaybolacak değişiklik yok
+                }
+            });
+        }
+    }
+
+    public void index(Kullanici kullanici) {
+        emailIndex.put(kullanici.getId(), kullanici.getEmail());
+        kullaniciAdiIndex.put(kullanici.getId(), kullanici.getKullaniciAdi());
+    }
+
+    public void remove(Kullanici kullanici) {
+        emailIndex.remove(kullanici.getId());
+        kullaniciAdiIndex.remove(kullanici.getId());
+    }
+
+    // Index'ten gelen ID'ler primary key ile yüklenir (en fazla MAX_RESULTS tane; findAllById tek bir
+    // "WHERE id IN (...)" sorgusu ürettiği için sınırsız liste hem dev bir IN'e hem de OOM'a yol açar).
+    // Index'te sadece commit edilmiş değişiklikler olduğundan, aradaki silinmiş ID'ler sonuçta yer almaz.
+    public List<Kullanici> searchEmail(String keyword) {
+        return emailIndex.search(keyword, MAX_RESULTS)
+                .map(kullaniciRepository::findAllById)
+                .orElseGet(() -> kullaniciRepository.findByEmailContaining(keyword, PageRequest.of(0, MAX_RESULTS))); // Kısa sorgu: DB'ye düş
+    }
+
+    public List<Kullanici> searchKullaniciAdi(String keyword) {
+        return kullaniciAdiIndex.search(keyword, MAX_RESULTS)
+                .map(kullaniciRepository::findAllById)
+                .orElseGet(() -> kullaniciRepository.findByKullaniciAdiContaining(keyword, PageRequest.of(0, MAX_RESULTS)));
+    }
+}
+
+// JPA entity listener'ı: Spring Boot, Hibernate'e SpringBeanContainer verdiği için listener'a
+// constructor injection ile Spring bean'leri enjekte edilebilir.
+// @PostPersist/@PostUpdate/@PostRemove flush anında, yani commit'ten ÖNCE çalışır. Index doğrudan
+// güncellenirse rollback olan değişiklikler index'te kalır. Bu yüzden güncelleme aktif transaction'a
+// TransactionSynchronization olarak kaydedilir ve sadece afterCommit'te uygulanır.
+@Component
+class KullaniciSearchListener {
+    private final KullaniciSearchIndex searchIndex;
+
+    public KullaniciSearchListener(@Lazy KullaniciSearchIndex searchIndex) {
+        this.searchIndex = searchIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Kullanici kullanici) {
+        afterCommit(() -> searchIndex.index(kullanici));
+    }
+
+    @PostRemove
+    public void onRemove(Kullanici kullanici) {
+        afterCommit(() -> searchIndex.remove(kullanici));
+    }
+
+    // Aynı transaction'daki birden fazla olay kayıt sırasıyla uygulanır; son güncelleme kazanır.
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run(); // Spring transaction'ı yok (örn. autocommit): Değişiklik zaten kalıcı
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
+
+/*
+ * Alternatif: Veritabanı Tarafında Trigram Index (PostgreSQL pg_trgm)
+ * Uygulama birden fazla node'da çalışıyorsa ve index'in bellekte tutulması istenmiyorsa,
+ * PostgreSQL'in pg_trgm eklentisi ile aynı mantık veritabanında kurulur. Bu GIN index'i sayesinde
+ * mevcut findByEmailContaining sorgusu (LIKE '%x%') hiçbir kod değişikliği olmadan index kullanır:
+ *
+ * CREATE EXTENSION IF NOT EXISTS pg_trgm;
+ * CREATE INDEX idx_kullanicilar_email_trgm ON kullanicilar USING gin (lower(email) gin_trgm_ops);
+ * CREATE INDEX idx_kullanicilar_adi_trgm ON kullanicilar USING gin (lower(kullanici_adi) gin_trgm_ops);
+ * -- Sorgu da lower(email) LIKE lower('%x%') şeklinde yazılmalıdır (@Query ile).
+ */
+
+// Arama benchmark'ı: 1 milyon sentetik kullanıcıda tam tarama (LIKE '%x%' ile aynı iş) ve n-gram index karşılaştırması.
+class NgramIndexBenchmark {
+    public static void main(String[] args) {
+        int kullaniciSayisi = 1_000_000;
+        NgramIndex index = new NgramIndex();
+        List<String> emails = new ArrayList<>(kullaniciSayisi);
+        for (long id = 0; id < kullaniciSayisi; id++) {
+            String email = "user" + id + "@firma" + (id % 5000) + ".com";
+            emails.add(email);
+            index.put(id, email);
+        }
+
+        for (String sorgu : List.of("user123456", "firma4242", "99999@")) {
+            long start = System.nanoTime();
+            int taramaSonucu = 0;
+            for (String email : emails) {
+                if (email.contains(sorgu)) {
+                    taramaSonucu++;
+                }
+            }
+            long taramaUs = (System.nanoTime() - start) / 1_000;
+
+            start = System.nanoTime();
+            int indexSonucu = index.search(sorgu).orElseThrow().size();
+            long indexUs = (System.nanoTime() - start) / 1_000;
+
+            System.out.println("'" + sorgu + "': tam tarama " + taramaUs + " µs (" + taramaSonucu + " sonuç), "
+                    + "n-gram index " + indexUs + " µs (" + indexSonucu + " sonuç)");
+        }
+    }
 }
 
 
@@ -114,9 +451,16 @@ public interface KullaniciRepository extends JpaRepository<Kullanici, Long> {
 // Yazar Entity'si: Bir Yazar'ın birden çok Kitabı olabilir.
 @Entity
 @Table(name = "yazarlar")
+// @NamedEntityGraph: Hangi ilişkilerin tek sorguda (JOIN ile) birlikte yükleneceğini tanımlayan "fetch planı".
+// Repository metotlarında @EntityGraph("Yazar.kitaplar") ile kullanılır, ilişki LAZY kalmaya devam eder.
+@NamedEntityGraph(name = "Yazar.kitaplar", attributeNodes = @NamedAttributeNode("kitaplar"))
+// Sınıf seviyesinde @BatchSize: Birçok Kitap'ın LAZY 'yazar' proxy'si başlatılırken yazarlar
+// tek tek değil, 50'lik gruplar halinde "WHERE id IN (...)" ile yüklenir.
+@BatchSize(size = 50)
 class Yazar {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "yazar_seq")
+    @SequenceGenerator(name = "yazar_seq", sequenceName = "yazarlar_seq", allocationSize = 50)
     private Long id;
     private String ad;
 
@@ -126,7 +470,12 @@ class Yazar {
     // cascade = CascadeType.ALL: Yazar üzerinde yapılan tüm işlemlerin (oluşturma, güncelleme, silme)
     //                            ilişkili Kitaplar üzerinde de uygulanmasını sağlar.
     // orphanRemoval = true: Bir Yazar'dan bir Kitap kaldırıldığında, o Kitabın veritabanından da silinmesini sağlar.
+    // @BatchSize(size = 50): Entity graph kullanılmayan yerlerde, bir yazarın kitapları ilk kez istendiğinde
+    //                         persistence context'teki diğer 49 yazarın kitapları da aynı sorguda yüklenir.
+    //                         (Alternatif: @Fetch(FetchMode.SUBSELECT) ile ilk sorgudaki tüm yazarların
+    //                         kitapları tek bir alt sorgu ile yüklenir.)
     @OneToMany(mappedBy = "yazar", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 50)
     private List<Kitap> kitaplar = new ArrayList<>(); // Bir Yazar'ın Kitap listesi
 
     // --- Constructor'lar ---
@@ -160,7 +509,8 @@ class Yazar {
 @Table(name = "kitaplar")
 class Kitap {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "kitap_seq")
+    @SequenceGenerator(name = "kitap_seq", sequenceName = "kitaplar_seq", allocationSize = 50)
     private Long id;
     private String baslik;
 
@@ -199,6 +549,261 @@ class Kitap {
 }
 
 
+// --- N+1 Problemi ve Fetch Planları ---
+// Yazarlar listelenip her birinin getKitaplar()'ına dokunulduğunda (main metodundaki döngü gibi),
+// LAZY ilişki yüzünden 1 sorgu yazarlar için + N sorgu her yazarın kitapları için çalışır (N+1 problemi).
+// Aşağıdaki metotlar aynı veriyi yazar sayısından bağımsız, sabit sayıda sorgu ile yükler.
+@Repository
+interface YazarRepository extends JpaRepository<Yazar, Long> {
+
+    // Named entity graph ile: "SELECT y, k FROM yazarlar y LEFT JOIN kitaplar k ..." tek sorgu.
+    @EntityGraph("Yazar.kitaplar")
+    @Query("SELECT y FROM Yazar y")
+    List<Yazar> findAllWithKitaplar();
+
+    @EntityGraph("Yazar.kitaplar")
+    Optional<Yazar> findWithKitaplarById(Long id);
+
+    // JOIN FETCH ile aynı sonuç (DISTINCT, Hibernate 6'da otomatik uygulanır).
+    // Not: Koleksiyon JOIN FETCH'i ile Pageable birlikte kullanılmamalı; Hibernate sayfalamayı bellekte yapar.
+    //      Sayfalı listelerde önce yazar ID'leri sayfalanır, sonra bu metot ile kitapları yüklenir.
+    @Query("SELECT y FROM Yazar y LEFT JOIN FETCH y.kitaplar WHERE y.id IN :ids")
+    List<Yazar> findAllWithKitaplarByIdIn(@Param("ids") List<Long> ids);
+
+    // Yazar listesi ekranı için özet: Kitaplar yüklenmeden, veritabanında COUNT ile sayılır.
+    // Constructor expression (SELECT new ...) record'u doğrudan oluşturur; interface projeksiyonlarındaki
+    // proxy nesnesi de oluşmadığı için satır başına en az nesne bu yöntemle üretilir.
+    @Query("SELECT new YazarOzet(y.id, y.ad, COUNT(k)) FROM Yazar y LEFT JOIN y.kitaplar k GROUP BY y.id, y.ad")
+    List<YazarOzet> findAllOzet();
+}
+
+// Record projeksiyon (Java 16+): Değiştirilemez, sadece veri taşıyan DTO.
+record YazarOzet(Long id, String ad, long kitapSayisi) {}
+
+// Kitap tarafı: Kitapları listeleyip yazar adını gösterirken LAZY 'yazar' ilişkisini tek sorguda getirir.
+@Repository
+interface KitapRepository extends JpaRepository<Kitap, Long> {
+    @EntityGraph(attributePaths = "yazar")
+    List<Kitap> findByBaslikContaining(String keyword);
+}
+
+// SQL ifadelerini sayan Hibernate StatementInspector'ı. Hibernate her SQL'i çalıştırmadan önce buradan geçirir.
+// Konfigürasyon: hibernate.session_factory.statement_inspector=SqlStatementCounter
+class SqlStatementCounter implements StatementInspector {
+    private static final ThreadLocal<Integer> SELECT_COUNT = ThreadLocal.withInitial(() -> 0);
+
+    @Override
+    public String inspect(String sql) {
+        if (sql.regionMatches(true, 0, "select", 0, 6)) {
+            SELECT_COUNT.set(SELECT_COUNT.get() + 1);
+        }
+        return sql; // SQL değiştirilmeden geri verilir
+    }
+
+    public static void reset() {
+        SELECT_COUNT.set(0);
+    }
+
+    public static int selectCount() {
+        return SELECT_COUNT.get();
+    }
+
+    // Bilinen bir erişim deseninin en fazla 'expected' SELECT çalıştırmasını garanti eder.
+    // Sayı aşılırsa N+1 gerilemesi (regression) var demektir.
+    public static void assertSelectCount(String senaryo, int expected) {
+        int actual = selectCount();
+        if (actual > expected) {
+            throw new IllegalStateException(senaryo + ": en fazla " + expected + " SELECT beklendi, "
+                    + actual + " çalıştı (N+1?)");
+        }
+        System.out.println(senaryo + ": " + actual + " SELECT (limit " + expected + ")");
+    }
+}
+
+// N+1 kontrolü: 20 yazar ve kitaplarını kaydeder, sonra bilinen erişim desenlerinin SELECT sayısını doğrular.
+// "bench-sequence" persistence unit'ine statement_inspector özelliği eklenerek çalıştırılır.
+class NPlusOneCheck {
+    public static void main(String[] args) {
+        EntityManagerFactory emf = Persistence.createEntityManagerFactory("bench-sequence",
+                Map.of("hibernate.session_factory.statement_inspector", SqlStatementCounter.class.getName()));
+
+        EntityManager em = emf.createEntityManager();
+        em.getTransaction().begin();
+        for (int i = 0; i < 20; i++) {
+            Yazar yazar = new Yazar("Yazar " + i);
+            yazar.addKitap(new Kitap("Kitap " + i + "-a"));
+            yazar.addKitap(new Kitap("Kitap " + i + "-b"));
+            em.persist(yazar);
+        }
+        em.getTransaction().commit();
+        em.close();
+
+        // 1) Entity graph: yazarlar ve kitaplar tek sorguda gelmeli.
+        em = emf.createEntityManager();
+        SqlStatementCounter.reset();
+        List<Yazar> yazarlar = em.createQuery("SELECT y FROM Yazar y", Yazar.class)
+                .setHint("jakarta.persistence.fetchgraph", em.getEntityGraph("Yazar.kitaplar"))
+                .getResultList();
+        yazarlar.forEach(y -> y.getKitaplar().size());
+        SqlStatementCounter.assertSelectCount("Entity graph ile yazar + kitaplar", 1);
+        em.close();
+
+        // 2) Graph olmadan: @BatchSize sayesinde 1 + (20 / 50 yukarı yuvarlanmış) = 2 sorgu, N+1 değil.
+        em = emf.createEntityManager();
+        SqlStatementCounter.reset();
+        yazarlar = em.createQuery("SELECT y FROM Yazar y", Yazar.class).getResultList();
+        yazarlar.forEach(y -> y.getKitaplar().size());
+        SqlStatementCounter.assertSelectCount("@BatchSize ile yazar + kitaplar", 2);
+        em.close();
+
+        // 3) Kitaptan yazara: LAZY 'yazar' proxy'leri sınıf seviyesindeki @BatchSize ile toplu yüklenmeli.
+        em = emf.createEntityManager();
+        SqlStatementCounter.reset();
+        List<Kitap> kitaplar = em.createQuery("SELECT k FROM Kitap k", Kitap.class).getResultList();
+        kitaplar.forEach(k -> k.getYazar().getAd());
+        SqlStatementCounter.assertSelectCount("Kitap + yazar adı", 2);
+        em.close();
+
+        emf.close();
+    }
+}
+
+// Entity ve projeksiyon okumalarını karşılaştıran benchmark: Aynı yazar listesini iki şekilde okur ve
+// süreyi ve okuyan thread'in ayırdığı bellek miktarını (HotSpot'un ThreadMXBean'i ile) ölçer.
+// "bench-sequence" persistence unit'i ile çalışır; önce 100.000 yazar kaydedilir.
+class ProjectionBenchmark {
+    private static final com.sun.management.ThreadMXBean THREAD_MX =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) {
+        EntityManagerFactory emf = Persistence.createEntityManagerFactory("bench-sequence");
+        EntityManager em = emf.createEntityManager();
+        em.getTransaction().begin();
+        for (int i = 0; i < 100_000; i++) {
+            em.persist(new Yazar("Yazar " + i));
+            if ((i + 1) % 50 == 0) {
+                em.flush();
+                em.clear();
+            }
+        }
+        em.getTransaction().commit();
+        em.close();
+
+        for (int tur = 0; tur < 5; tur++) { // İlk turlar JIT ısınması içindir
+            measure(emf, "Entity     ", e -> e.createQuery("SELECT y FROM Yazar y", Yazar.class).getResultList());
+            measure(emf, "Projeksiyon", e -> e.createQuery(
+                    "SELECT new YazarOzet(y.id, y.ad, 0L) FROM Yazar y", YazarOzet.class).getResultList());
+        }
+        emf.close();
+    }
+
+    private static void measure(EntityManagerFactory emf, String ad, Function<EntityManager, List<?>> sorgu) {
+        EntityManager em = emf.createEntityManager();
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = THREAD_MX.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        int satir = sorgu.apply(em).size();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        long allocated = THREAD_MX.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        System.out.println(ad + ": " + satir + " satır, " + elapsedMs + " ms, "
+                + (allocated / satir) + " byte/satır");
+        em.close(); // Entity okumasında persistence context (ve snapshot'lar) burada serbest kalır
+    }
+}
+
+/*
+ * Sekans Tabanlı ID ve JDBC Batch Konfigürasyonu (application.properties):
+ * spring.jpa.properties.hibernate.jdbc.batch_size=50       # INSERT/UPDATE'leri 50'lik JDBC batch'leri halinde gönderir
+ * spring.jpa.properties.hibernate.order_inserts=true       # Yazar ve Kitap INSERT'lerini tablo bazında gruplar
+ * spring.jpa.properties.hibernate.order_updates=true
+ * spring.jpa.properties.hibernate.id.optimizer.pooled.preferred=pooled-lo  # İsteğe bağlı: sekans değeri bloğun alt sınırı olur
+ *
+ * Sekanslar (PostgreSQL / H2), INCREMENT BY değeri allocationSize ile aynı olmalıdır:
+ * CREATE SEQUENCE kullanicilar_seq START WITH 1 INCREMENT BY 50;
+ * CREATE SEQUENCE yazarlar_seq START WITH 1 INCREMENT BY 50;
+ * CREATE SEQUENCE kitaplar_seq START WITH 1 INCREMENT BY 50;
+ */
+
+
+// --- Toplu Insert Benchmark'ı (SEQUENCE vs IDENTITY, gömülü H2 üzerinde) ---
+// Aynı Yazar/Kitap grafiğini (Yazar.addKitap + cascade) iki persistence unit ile kaydeder ve
+// süreyi ve Hibernate istatistiklerindeki JDBC statement sayısını karşılaştırır.
+// "bench-identity" unit'i, orm.xml ile entity'lerdeki ID stratejisini IDENTITY'ye geri çevirir.
+class BulkInsertBenchmark {
+
+    public static void main(String[] args) {
+        int yazarSayisi = 10_000;
+        int yazarBasinaKitap = 5;
+        for (String unit : List.of("bench-identity", "bench-sequence")) {
+            run(unit, 1_000, yazarBasinaKitap); // JIT ısınması için kısa bir tur
+            run(unit, yazarSayisi, yazarBasinaKitap);
+        }
+    }
+
+    private static void run(String unit, int yazarSayisi, int yazarBasinaKitap) {
+        EntityManagerFactory emf = Persistence.createEntityManagerFactory(unit);
+        EntityManager em = emf.createEntityManager();
+        Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+
+        long start = System.nanoTime();
+        em.getTransaction().begin();
+        for (int i = 0; i < yazarSayisi; i++) {
+            Yazar yazar = new Yazar("Yazar " + i);
+            for (int k = 0; k < yazarBasinaKitap; k++) {
+                yazar.addKitap(new Kitap("Kitap " + i + "-" + k));
+            }
+            em.persist(yazar); // cascade = ALL sayesinde kitaplar da kaydedilir
+            if ((i + 1) % 50 == 0) { // batch_size ile aynı aralıkla persistence context'i boşalt
+                em.flush();
+                em.clear();
+            }
+        }
+        em.getTransaction().commit();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.println(unit + ": " + yazarSayisi + " yazar, " + (yazarSayisi * yazarBasinaKitap) + " kitap -> "
+                + elapsedMs + " ms, JDBC statement: " + stats.getPrepareStatementCount());
+        em.close();
+        emf.close();
+    }
+}
+
+/*
+ * Benchmark için META-INF/persistence.xml (her çalıştırmada yeni bir in-memory H2 veritabanı):
+ * <persistence-unit name="bench-sequence">
+ *     <class>Yazar</class>
+ *     <class>Kitap</class>
+ *     <properties>
+ *         <property name="jakarta.persistence.jdbc.url" value="jdbc:h2:mem:seq;DB_CLOSE_DELAY=-1"/>
+ *         <property name="hibernate.hbm2ddl.auto" value="create-drop"/>
+ *         <property name="hibernate.jdbc.batch_size" value="50"/>
+ *         <property name="hibernate.order_inserts" value="true"/>
+ *         <property name="hibernate.generate_statistics" value="true"/>
+ *     </properties>
+ * </persistence-unit>
+ * <persistence-unit name="bench-identity">
+ *     <mapping-file>META-INF/identity-orm.xml</mapping-file>
+ *     ... (aynı sınıflar ve özellikler, url: jdbc:h2:mem:identity;DB_CLOSE_DELAY=-1)
+ * </persistence-unit>
+ *
+ * META-INF/identity-orm.xml (annotation'lardaki ID stratejisini ezer):
+ * <entity class="Yazar"><attributes><id name="id"><generated-value strategy="IDENTITY"/></id></attributes></entity>
+ * <entity class="Kitap"><attributes><id name="id"><generated-value strategy="IDENTITY"/></id></attributes></entity>
+ *
+ * Beklenen sonuç: IDENTITY'de her satır için ayrı bir INSERT gider (batch devre dışı),
+ * SEQUENCE + pooled optimizer'da ise INSERT'ler 50'lik batch'ler halinde gider ve sekans
+ * 50 satırda bir çağrılır; statement sayısı ve süre belirgin şekilde düşer.
+ *
+ * H2 Maven Bağımlılığı:
+ * <dependency>
+ * <groupId>com.h2database</groupId>
+ * <artifactId>h2</artifactId>
+ * <scope>runtime</scope>
+ * </dependency>
+ */
+
+
 // --- Main Sınıfı (Örnek Kullanım Simülasyonu) ---
 // Bu sınıf, Entity ve Repository'lerin nasıl kullanılacağına dair bir simülasyon sunar.
 // Gerçek bir Spring Boot uygulamasında, bu işlemler Repository'ler aracılığıyla bir servis katmanında yapılır.
@@ -235,6 +840,8 @@ public class JpaAndRelationshipsExample {
         // Gerçekte: yazarRepository.save(yazar1);
         // Bu save işlemi cascade ayarı sayesinde kitapları da kaydederdi.
 
+        // Not: Gerçek bir veritabanında yazarlar listesinde bu döngü N+1 sorgu üretir;
+        //      yazarRepository.findAllWithKitaplar() ile tüm yazarlar kitaplarıyla tek sorguda gelir.
         System.out.println(yazar1.getAd() + " tarafından yazılan kitaplar:");
         for (Kitap kitap : yazar1.getKitaplar()) {
             System.out.println("- " + kitap.getBaslik() + " (Yazar: " + kitap.getYazar().getAd() + ")");
@@ -22,6 +22,20 @@ import org.springframework.security.core.userdetails.UserDetailsService; // Kull
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder; // Şifreleri güvenli bir şekilde saklamak için
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService; // Hash yükseltmede yeni hash'i kaydetmek için
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 // import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter; // JWT filtresi eklenirken kullanılabilir
 
 // --- 1. Bağımlılıkları Ekle (pom.xml) ---
@@ -55,10 +69,13 @@ public class SecurityConfig {
 
     private final UserDetailsService userDetailsService; // Kullanıcı bilgilerini yüklemek için
     // Gerçek uygulamada bu, bir servis veya repository implementasyonu olacaktır.
+    private final UserDetailsPasswordService userDetailsPasswordService; // Eski hash'leri güncellemek için
 
     // Constructor Injection ile UserDetailsService'i enjekte ediyoruz.
-    public SecurityConfig(UserDetailsService userDetailsService) {
+    public SecurityConfig(UserDetailsService userDetailsService,
+                          UserDetailsPasswordService userDetailsPasswordService) {
         this.userDetailsService = userDetailsService;
+        this.userDetailsPasswordService = userDetailsPasswordService;
     }
 
     // SecurityFilterChain Beani: HTTP isteklerinin nasıl işleneceğini tanımlar.
@@ -97,9 +114,20 @@ public class SecurityConfig {
 
     // PasswordEncoder Beani: Şifreleri hash'lemek için kullanılır.
     // Şifreler asla düz metin olarak veritabanında saklanmamalıdır.
+    // BCrypt maliyeti (strength) sabit değil; uygulama açılırken bu makinede bir hash'in yaklaşık
+    // 'target-hash-ms' sürmesini sağlayacak şekilde ölçülerek seçilir. Hash'leme işlemleri de
+    // servlet thread'lerinde değil, PasswordHashingService'in sınırlı thread havuzunda çalışır.
+    // Havuz çekirdeklerin yarısıyla sınırlıdır (geri kalan CPU diğer isteklere kalır) ve kuyruk, Tomcat'in
+    // 200 thread'inin çok altında tutulur: Giriş patlamasında en fazla (thread + kuyruk) kadar istek bekler,
+    // fazlası hemen 503 alır; diğer API istekleri için servlet thread'i kalır.
+    // Dönüş tipi PasswordHashingService'tir ki giriş endpoint'i async metotlara erişebilsin.
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(); // Güçlü bir hashing algoritmasıdır.
+    public PasswordHashingService passwordEncoder(@Value("${security.password.target-hash-ms:250}") long targetHashMs,
+                                                  @Value("${security.password.hash-threads:0}") int hashThreads,
+                                                  @Value("${security.password.hash-queue-capacity:32}") int queueCapacity) {
+        int strength = PasswordHashingService.calibrateStrength(Duration.ofMillis(targetHashMs));
+        int threads = hashThreads > 0 ? hashThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new PasswordHashingService(strength, threads, queueCapacity);
     }
 
     // AuthenticationManager Beani: Kimlik doğrulama işlemini yönetir.
@@ -112,10 +140,13 @@ public class SecurityConfig {
     // UserDetailsService ve DaoAuthenticationProvider Beani:
     // Bu metodlar, AuthenticationManager'a kullanıcı bilgilerini nereden ve nasıl alacağını söyler.
     @Bean
-    public DaoAuthenticationProvider authenticationProvider() {
+    public DaoAuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService); // Kullanıcı detaylarını yükleyecek servis
-        authProvider.setPasswordEncoder(passwordEncoder());     // Şifreleri karşılaştırmak için encoder
+        authProvider.setPasswordEncoder(passwordEncoder);       // Şifreleri karşılaştırmak için encoder
+        // Başarılı girişte passwordEncoder.upgradeEncoding(hash) true dönerse (kayıtlı hash'in maliyeti
+        // şu anki maliyetten düşükse), şifre yeni maliyetle tekrar hash'lenir ve bu servis ile kaydedilir.
+        authProvider.setUserDetailsPasswordService(userDetailsPasswordService);
         return authProvider;
     }
 
@@ -146,6 +177,30 @@ public class SecurityConfig {
     }
     */
 
+// --- Örnek Bir UserDetailsPasswordService Implementasyonu (şeffaf hash yükseltme için) ---
+    /*
+    @Service
+    public class KullaniciPasswordUpgradeService implements UserDetailsPasswordService {
+
+        private final KullaniciRepository kullaniciRepository;
+
+        public KullaniciPasswordUpgradeService(KullaniciRepository kullaniciRepository) {
+            this.kullaniciRepository = kullaniciRepository;
+        }
+
+        @Override
+        @Transactional
+        public UserDetails updatePassword(UserDetails user, String newEncodedPassword) {
+            Kullanici kullanici = kullaniciRepository.findByKullaniciAdi(user.getUsername())
+                    .orElseThrow(() -> new UsernameNotFoundException("Kullanıcı bulunamadı: " + user.getUsername()));
+            kullanici.setPasswordHash(newEncodedPassword); // Yeni maliyetle üretilmiş hash
+            return org.springframework.security.core.userdetails.User.withUserDetails(user)
+                    .password(newEncodedPassword)
+                    .build();
+        }
+    }
+    */
+
 // --- JWT Filtreleme Mantığı (örnek olarak, ayrı bir sınıf olarak tanımlanır) ---
     /*
     // @Component // Bu bir Spring bileşeni olacak
@@ -153,10 +208,13 @@ public class SecurityConfig {
 
         private final JwtService jwtService; // JWT token işlemleri için servis
         private final UserDetailsService userDetailsService;
+        private final JwtValidationCache validationCache; // Daha önce doğrulanmış token'ların önbelleği
 
-        public JwtAuthFilter(JwtService jwtService, UserDetailsService userDetailsService) {
+        public JwtAuthFilter(JwtService jwtService, UserDetailsService userDetailsService,
+                             JwtValidationCache validationCache) {
             this.jwtService = jwtService;
             this.userDetailsService = userDetailsService;
+            this.validationCache = validationCache;
         }
 
         @Override
@@ -173,11 +231,27 @@ public class SecurityConfig {
             }
 
             jwt = authHeader.substring(7);
+
+            // Aynı token daha önce doğrulandıysa imza kontrolü ve veritabanı sorgusu atlanır.
+            UserDetails cachedUser = validationCache.get(jwt);
+            if (cachedUser != null) {
+                if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                            cachedUser, null, cachedUser.getAuthorities());
+                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                }
+                filterChain.doFilter(request, response);
+                return;
+            }
+
             userName = jwtService.extractUsername(jwt); // JWT'den kullanıcı adını çıkar
 
             if (userName != null && SecurityContextHolder.getContext().getAuthentication() == null) {
                 UserDetails userDetails = this.userDetailsService.loadUserByUsername(userName);
                 if (jwtService.isTokenValid(jwt, userDetails)) {
+                    // Token'ın süresi dolana kadar tekrar doğrulamaya gerek yok.
+                    validationCache.put(jwt, userDetails, jwtService.extractExpiration(jwt).toInstant());
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
                             null, // Şifre burada null çünkü zaten token doğrulandı
@@ -187,4 +261,204 @@ public class SecurityConfig {
                     SecurityContextHolder.getContext().setAuthentication(authToken); // Kullanıcıyı doğrulanmış olarak ayarla
                 }
             }
-            filterChain.doFilter
\ No newline at end of file
+            filterChain.doFilter(request, response);
+        }
+    }
+    */
+
+    // --- Doğrulanmış JWT Önbelleği (örnek olarak, ayrı bir sınıf olarak tanımlanır) ---
+    // Önbellek olmadan her istekte: JWT ayrıştırma + imza doğrulama + loadUserByUsername (veritabanı sorgusu).
+    // Aynı token, süresi dolana kadar onlarca istekte tekrar kullanıldığı için doğrulama sonucu saklanır.
+    // - Anahtar, token'ın kendisi değil SHA-256 özetidir (ham token'lar bellekte tutulmaz).
+    // - Her kayıt, token'ın 'exp' zamanında kendiliğinden düşer (Caffeine Expiry ile kayıt bazında TTL).
+    // - maximumSize ile önbellek sınırlıdır; dolunca en az kullanılan token'lar çıkarılır.
+    // - invalidateUser: Kullanıcı kilitlendiğinde, şifresi değiştiğinde veya token'ları iptal edildiğinde
+    //   çağrılır; o kullanıcının önbellekteki tüm token'ları silinir ve bir sonraki istek tam doğrulamadan geçer.
+    /*
+    @Component
+    public class JwtValidationCache {
+
+        private record CachedAuth(UserDetails userDetails, Instant expiresAt) {}
+
+        private final Cache<String, CachedAuth> cache = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfter(new Expiry<String, CachedAuth>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedAuth value, long currentTime) {
+                        return Math.max(0, Duration.between(Instant.now(), value.expiresAt()).toNanos());
+                    }
+                    @Override
+                    public long expireAfterUpdate(String key, CachedAuth value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+                    @Override
+                    public long expireAfterRead(String key, CachedAuth value, long currentTime, long currentDuration) {
+                        return currentDuration; // Okuma süreyi uzatmaz
+                    }
+                })
+                .build();
+
+        public UserDetails get(String jwt) {
+            CachedAuth cached = cache.getIfPresent(hash(jwt));
+            if (cached == null || !cached.expiresAt().isAfter(Instant.now())) {
+                return null;
+            }
+            return cached.userDetails();
+        }
+
+        public void put(String jwt, UserDetails userDetails, Instant expiresAt) {
+            cache.put(hash(jwt), new CachedAuth(userDetails, expiresAt));
+        }
+
+        // İptal (revocation) kancası: Örn. kullanıcı kilitlendiğinde UserService tarafından çağrılır.
+        // Nadiren çalıştığı için tüm önbelleği dolaşmak yeterlidir.
+        public void invalidateUser(String username) {
+            cache.asMap().values().removeIf(c -> c.userDetails().getUsername().equals(username));
+        }
+
+        private static String hash(String jwt) {
+            try {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                return HexFormat.of().formatHex(digest.digest(jwt.getBytes(StandardCharsets.UTF_8)));
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 desteklenmiyor", e);
+            }
+        }
+    }
+    */
+    // Not: Birden fazla node varsa iptal olayı tüm node'lara iletilmelidir (örn. Redis pub/sub); aksi halde
+    //      diğer node'lar iptal edilen token'ı önbellekteki süresi dolana kadar kabul etmeye devam eder.
+    // Not: JwtService ve diğer JWT yardımcı sınıfları bu örnekte gösterilmemiştir ancak gerçek bir JWT entegrasyonunda gereklidir.
+}
+
+
+// --- Şifre Hash'leme Servisi (Adaptif BCrypt Maliyeti + Ayrı Thread Havuzu) ---
+// BCrypt kasıtlı olarak yavaştır (tek bir hash ~100-300 ms CPU). Senkron çalıştığında, bir giriş (login)
+// patlaması tüm servlet thread'lerini ve CPU'yu meşgul eder ve diğer API istekleri de bekler.
+// Bu sınıf:
+// - Hash'leme işlerini ayrı ve küçük bir havuzda çalıştırır (varsayılan: çekirdeklerin yarısı); aynı anda en
+//   fazla bu kadar hash hesaplanır, geri kalan çekirdekler diğer isteklere kalır.
+// - Kuyruk sınırlıdır (backpressure): Kuyruk doluysa iş beklemeden reddedilir ve istemciye 503 döner.
+// - Giriş endpoint'i encodeAsync/matchesAsync kullanmalıdır (aşağıdaki AuthController): Servlet thread'i hash
+//   süresince beklemez. Senkron encode/matches yalnızca Spring Security'nin senkron API'leri (örn.
+//   DaoAuthenticationProvider) için vardır; bunlarda bekleyen thread sayısı (thread + kuyruk) ile sınırlıdır.
+// - upgradeEncoding ile daha düşük maliyetle üretilmiş eski hash'lerin girişte yükseltilmesini sağlar.
+class PasswordHashingService implements PasswordEncoder, AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(PasswordHashingService.class);
+    private static final int MIN_STRENGTH = 10; // Spring'in varsayılan değeri, bunun altına inilmez
+    private static final int MAX_STRENGTH = 16;
+
+    private final BCryptPasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+
+    public PasswordHashingService(int strength, int threads, int queueCapacity) {
+        this.delegate = new BCryptPasswordEncoder(strength);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), // Sınırlı kuyruk
+                new ThreadPoolExecutor.AbortPolicy());   // Kuyruk doluysa RejectedExecutionException
+    }
+
+    // Her strength artışı maliyeti iki katına çıkarır. Hedef süreyi aşmayan en yüksek strength seçilir.
+    public static int calibrateStrength(Duration target) {
+        new BCryptPasswordEncoder(MIN_STRENGTH).encode("isinma"); // JIT ısınması
+        int strength = MIN_STRENGTH;
+        while (strength < MAX_STRENGTH) {
+            long start = System.nanoTime();
+            new BCryptPasswordEncoder(strength).encode("kalibrasyon");
+            long elapsed = System.nanoTime() - start;
+            if (elapsed * 2 > target.toNanos()) { // Bir sonraki strength hedefi aşar
+                break;
+            }
+            strength++;
+        }
+        log.info("BCrypt strength {} olarak seçildi (hedef {} ms)", strength, target.toMillis());
+        return strength;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return await(encodeAsync(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return await(matchesAsync(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword); // Kayıtlı hash'in strength'i düşükse true
+    }
+
+    // Controller'dan CompletableFuture döndürülürse (Spring MVC async), servlet thread'i hash süresince
+    // hiç beklemez ve diğer isteklere hizmet etmeye devam eder.
+    public CompletableFuture<String> encodeAsync(CharSequence rawPassword) {
+        return submit(() -> delegate.encode(rawPassword));
+    }
+
+    public CompletableFuture<Boolean> matchesAsync(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Çok fazla eşzamanlı giriş isteği", e);
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException re ? re : e;
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown(); // Spring, bean yok edilirken close() metodunu otomatik çağırır
+    }
+}
+
+// Giriş endpoint'i: Şifre kontrolü async yapılır, CompletableFuture döndürüldüğü için Spring MVC isteği
+// askıya alır (async request) ve servlet thread'i hash süresince başka isteklere hizmet eder.
+// (JwtService ve LoginRequest/LoginResponse bu örnekte gösterilmemiştir.)
+/*
+@RestController
+@RequestMapping("/api/auth")
+class AuthController {
+    private final UserDetailsService userDetailsService;
+    private final PasswordHashingService passwordHashingService;
+    private final JwtService jwtService;
+
+    AuthController(UserDetailsService userDetailsService, PasswordHashingService passwordHashingService, JwtService jwtService) {
+        this.userDetailsService = userDetailsService;
+        this.passwordHashingService = passwordHashingService;
+        this.jwtService = jwtService;
+    }
+
+    @PostMapping("/login")
+    public CompletableFuture<ResponseEntity<LoginResponse>> login(@RequestBody LoginRequest request) {
+        UserDetails user;
+        try {
+            user = userDetailsService.loadUserByUsername(request.username());
+        } catch (UsernameNotFoundException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+        }
+        // Havuz/kuyruk doluysa matchesAsync ResponseStatusException(503) fırlatır.
+        return passwordHashingService.matchesAsync(request.password(), user.getPassword())
+                .thenApply(matches -> matches
+                        ? ResponseEntity.ok(new LoginResponse(jwtService.generateToken(user)))
+                        : ResponseEntity.status(HttpStatus.UNAUTHORIZED).<LoginResponse>build());
+    }
+}
+*/
+
+/*
+ * Konfigürasyon (application.properties):
+ * security.password.target-hash-ms=250        # Tek bir hash'in bu makinedeki hedef süresi
+ * security.password.hash-threads=0            # 0: çekirdek sayısının yarısı
+ * security.password.hash-queue-capacity=32    # Bekleyebilecek en fazla hash işi (Tomcat'in 200 thread'inin çok altında), fazlası 503 alır
+ */